@@ -0,0 +1,99 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.RecipeChangedEvent;
+import com.example.demo.models.RecipeResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of mapped recipes. A load first puts a pending future into the cache and then runs on the
+ * calling thread, outside of any lock, so a virtual thread waiting on the database never pins its carrier.
+ * Concurrent loads of the same id wait for that future. An invalidation removes a pending future as well,
+ * so a value read before a write commits is never kept once the commit has invalidated it.
+ */
+@Component
+public class RecipeCache {
+    private static final String CACHE_NAME = "recipes";
+
+    private final AsyncCache<Long, RecipeResponse> recipes;
+
+    public RecipeCache(
+            MeterRegistry meterRegistry,
+            @Value("${recipes.cache.recipe.max-size}") long maxSize,
+            @Value("${recipes.cache.recipe.ttl}") Duration ttl
+    ) {
+        this.recipes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recipes, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", recipes, cache -> cache.synchronous().stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("The ratio of cache requests which were hits")
+                .register(meterRegistry);
+        FunctionTimer.builder("cache.loads", recipes,
+                        cache -> cache.synchronous().stats().loadCount(),
+                        cache -> cache.synchronous().stats().totalLoadTime(),
+                        TimeUnit.NANOSECONDS)
+                .tag("cache", CACHE_NAME)
+                .description("Time spent loading recipes into the cache")
+                .register(meterRegistry);
+    }
+
+    public RecipeResponse get(Long recipeId, Function<Long, RecipeResponse> loader) {
+        while (true) {
+            CompletableFuture<RecipeResponse> pending = new CompletableFuture<>();
+            CompletableFuture<RecipeResponse> future = recipes.get(recipeId, (id, executor) -> pending);
+
+            if (future != pending) {
+                try {
+                    return future.join();
+                } catch (CancellationException e) {
+                    // the load this call waited for failed, so it loads on its own to get that failure
+                    continue;
+                }
+            }
+
+            try {
+                RecipeResponse recipe = loader.apply(recipeId);
+                pending.complete(recipe);
+                return recipe;
+            } catch (RuntimeException | Error e) {
+                // Cancelling rather than failing the future drops it without Caffeine logging each missing recipe.
+                pending.cancel(false);
+                throw e;
+            }
+        }
+    }
+
+    public @Nullable RecipeResponse getIfPresent(Long recipeId) {
+        CompletableFuture<RecipeResponse> future = recipes.getIfPresent(recipeId);
+
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    public void invalidate(Long recipeId) {
+        recipes.synchronous().invalidate(recipeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        invalidate(event.recipeId());
+    }
+}
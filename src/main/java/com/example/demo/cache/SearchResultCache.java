@@ -0,0 +1,115 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.RecipeChangedEvent;
+import com.example.demo.event.RecipesImportedEvent;
+import com.example.demo.models.PaginatedRecipeResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches search result pages under the current data version. Every committed recipe write bumps the
+ * version, which orphans all earlier entries at once; they are never read again and age out of the
+ * cache. The version is read before the search runs, so a result computed from data that changed
+ * meanwhile is filed under an already outdated version.
+ */
+@Component
+public class SearchResultCache {
+    private static final String CACHE_NAME = "search-results";
+
+    private final boolean enabled;
+    private final AtomicLong version = new AtomicLong();
+    private final Cache<Key, PaginatedRecipeResponse> results;
+
+    public SearchResultCache(
+            MeterRegistry meterRegistry,
+            @Value("${recipes.cache.search.enabled}") boolean enabled,
+            @Value("${recipes.cache.search.max-recipes}") long maxRecipes,
+            @Value("${recipes.cache.search.ttl}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(maxRecipes)
+                .weigher((Key key, PaginatedRecipeResponse response) -> 1 + response.getContent().size())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+
+    public PaginatedRecipeResponse get(SearchQuery query, Supplier<PaginatedRecipeResponse> search) {
+        if (!enabled) {
+            return search.get();
+        }
+
+        Key key = new Key(version.get(), query);
+        PaginatedRecipeResponse cached = results.getIfPresent(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        PaginatedRecipeResponse response = search.get();
+        results.put(key, response);
+        return response;
+    }
+
+    public void invalidateAll() {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * A search as it is cached. Parameters the service matches case-insensitively, or leaves out, are put in one
+     * canonical form here so that equivalent requests share an entry; sortBy is matched exactly and only defaulted.
+     */
+    public record SearchQuery(
+            String search,
+            String searchMode,
+            int page,
+            int size,
+            String sortBy,
+            String direction,
+            String count,
+            String view
+    ) {
+        public SearchQuery {
+            search = search == null ? "" : search.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            searchMode = !search.isEmpty() && "fulltext".equalsIgnoreCase(searchMode) ? "fulltext" : "like";
+            sortBy = sortBy == null ? "name" : sortBy;
+            direction = "desc".equalsIgnoreCase(direction) ? "desc" : "asc";
+            count = "estimate".equalsIgnoreCase(count) || "none".equalsIgnoreCase(count) ? count.toLowerCase(Locale.ROOT) : "exact";
+            view = normalizeView(view);
+        }
+
+        /**
+         * @return {@code summary} for any spelling of it, {@code full} for everything else, which is served in full
+         */
+        public static String normalizeView(@Nullable String view) {
+            return "summary".equalsIgnoreCase(view) ? "summary" : "full";
+        }
+    }
+
+    private record Key(long version, SearchQuery query) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Sizes the connection pool from the number of cores unless {@code recipes.datasource.pool-size} is set. A connection
+ * only does work while the database runs a statement on it, so a small pool keeps the database busy without making
+ * it juggle more sessions than it has cores; requests beyond that queue in the pool, which shows up in the
+ * {@code hikaricp.connections.pending} metric.
+ * <p>
+ * The size is published as {@code spring.datasource.hikari.maximum-pool-size}, so Spring Boot configures the pool
+ * with it; setting that property explicitly takes precedence.
+ */
+public class DataSourcePoolSizePostProcessor implements EnvironmentPostProcessor {
+    static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+            return;
+        }
+
+        int poolSize = environment.getProperty("recipes.datasource.pool-size", Integer.class, 0);
+        int maximumPoolSize = poolSize > 0 ? poolSize : poolSizeForCores(Runtime.getRuntime().availableProcessors());
+
+        environment.getPropertySources()
+                .addLast(new MapPropertySource("recipesDataSourcePoolSize", Map.of(MAXIMUM_POOL_SIZE, maximumPoolSize)));
+    }
+
+    static int poolSizeForCores(int cores) {
+        return cores * 2 + 1;
+    }
+}
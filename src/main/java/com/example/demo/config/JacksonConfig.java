@@ -0,0 +1,28 @@
+package com.example.demo.config;
+
+import com.example.demo.models.RecipeListItemResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Lets the generated models tell a member that was sent as null apart from one that was left out.
+    @Bean
+    public JsonNullableModule jsonNullableModule() {
+        return new JsonNullableModule();
+    }
+
+    // Summary pages leave description and ingredients unset; the schema declares them optional, not nullable.
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer omitUnsetListItemMembers() {
+        return builder -> builder.mixIn(RecipeListItemResponse.class, OmitNulls.class);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private interface OmitNulls {
+    }
+}
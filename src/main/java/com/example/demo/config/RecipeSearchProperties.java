@@ -0,0 +1,14 @@
+package com.example.demo.config;
+
+import com.example.demo.specification.SearchStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipes.search")
+public class RecipeSearchProperties {
+
+    private SearchStrategy strategy = SearchStrategy.JOIN;
+}
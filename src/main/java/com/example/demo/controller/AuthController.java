@@ -0,0 +1,21 @@
+package com.example.demo.controller;
+
+import com.example.demo.api.AuthApi;
+import com.example.demo.models.TokenResponse;
+import com.example.demo.security.TokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class AuthController implements AuthApi {
+
+    private final TokenService tokenService;
+
+    @Override
+    public ResponseEntity<TokenResponse> createToken() {
+        return ResponseEntity.ok(tokenService.issueToken(SecurityContextHolder.getContext().getAuthentication()));
+    }
+}
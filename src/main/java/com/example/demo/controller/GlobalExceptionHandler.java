@@ -1,6 +1,10 @@
 package com.example.demo.controller;
 
 import com.example.demo.exception.IngredientNotInRecipeException;
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.exception.InvalidRecipeBatchException;
+import com.example.demo.exception.InvalidRecipePatchException;
+import com.example.demo.exception.InvalidSortException;
 import com.example.demo.exception.RecipeNotFoundException;
 import com.example.demo.models.ApiError;
 import jakarta.servlet.http.HttpServletRequest;
@@ -64,6 +68,22 @@ public class GlobalExceptionHandler {
                 .body(errorResponse(httpStatus, "Validation failed", details, request.getRequestURI()));
     }
 
+    @ExceptionHandler(InvalidRecipeBatchException.class)
+    public ResponseEntity<ApiError> handleInvalidRecipeBatchException(InvalidRecipeBatchException ex, HttpServletRequest request) {
+        HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity.status(httpStatus)
+                .body(errorResponse(httpStatus, "Validation failed", ex.getErrors(), request.getRequestURI()));
+    }
+
+    @ExceptionHandler(InvalidRecipePatchException.class)
+    public ResponseEntity<ApiError> handleInvalidRecipePatchException(InvalidRecipePatchException ex, HttpServletRequest request) {
+        HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity.status(httpStatus)
+                .body(errorResponse(httpStatus, "Validation failed", ex.getErrors(), request.getRequestURI()));
+    }
+
     @ExceptionHandler(RecipeNotFoundException.class)
     public ResponseEntity<ApiError> handleRecipeNotFoundException(RecipeNotFoundException ex, HttpServletRequest httpServletRequest) {
         HttpStatus httpStatus = HttpStatus.NOT_FOUND;
@@ -80,6 +100,22 @@ public class GlobalExceptionHandler {
                 .body(errorResponse(httpStatus, ex.getMessage(), null, httpServletRequest.getRequestURI()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursorException(InvalidCursorException ex, HttpServletRequest httpServletRequest) {
+        HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity.status(httpStatus)
+                .body(errorResponse(httpStatus, ex.getMessage(), null, httpServletRequest.getRequestURI()));
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<ApiError> handleInvalidSortException(InvalidSortException ex, HttpServletRequest httpServletRequest) {
+        HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+
+        return ResponseEntity.status(httpStatus)
+                .body(errorResponse(httpStatus, ex.getMessage(), null, httpServletRequest.getRequestURI()));
+    }
+
     private ApiError errorResponse(HttpStatus status, String message, Object details, String path) {
         return new ApiError()
                 .timestamp(OffsetDateTime.now())
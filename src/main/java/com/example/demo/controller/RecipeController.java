@@ -1,27 +1,73 @@
 package com.example.demo.controller;
 
 import com.example.demo.api.RecipeApi;
+import com.example.demo.cache.SearchResultCache;
+import com.example.demo.cache.SearchResultCache.SearchQuery;
 import com.example.demo.models.PaginatedRecipeResponse;
+import com.example.demo.models.RecipeBatchResponse;
+import com.example.demo.models.RecipeDeleteResponse;
+import com.example.demo.models.RecipeImportResponse;
+import com.example.demo.models.RecipeListItemResponse;
+import com.example.demo.models.RecipePatchRequest;
 import com.example.demo.models.RecipeRequest;
 import com.example.demo.models.RecipeResponse;
 import com.example.demo.models.RecipeUpdateRequest;
+import com.example.demo.service.RecipeExportService;
+import com.example.demo.service.RecipeImportService;
 import com.example.demo.service.RecipeService;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ETag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class RecipeController implements RecipeApi {
     private final RecipeService recipeService;
+    private final SearchResultCache searchResultCache;
+    private final RecipeImportService recipeImportService;
+    private final RecipeExportService recipeExportService;
 
     @Override
     public ResponseEntity<RecipeResponse> createRecipe(RecipeRequest recipeRequest) {
         return ResponseEntity.status(HttpStatus.CREATED).body(recipeService.createRecipe(recipeRequest));
     }
 
+    @Override
+    public ResponseEntity<RecipeBatchResponse> createRecipes(List<RecipeRequest> recipeRequests) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(recipeService.createRecipes(recipeRequests));
+    }
+
+    @Override
+    public ResponseEntity<RecipeImportResponse> importRecipes(InputStreamResource body) {
+        try (InputStream input = body.getInputStream()) {
+            return ResponseEntity.ok(recipeImportService.importRecipes(input));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportRecipes() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(recipeExportService::exportRecipes);
+    }
+
     @Override
     public ResponseEntity<Void> deleteRecipe(Long recipeId) {
         recipeService.deleteRecipeById(recipeId);
@@ -30,17 +76,88 @@ public class RecipeController implements RecipeApi {
     }
 
     @Override
-    public ResponseEntity<RecipeResponse> getRecipe(Long recipeId) {
-        return ResponseEntity.ok(recipeService.getRecipe(recipeId));
+    public ResponseEntity<RecipeDeleteResponse> deleteRecipes(List<Long> ids) {
+        return ResponseEntity.ok(recipeService.deleteRecipesById(ids));
+    }
+
+    @Override
+    public ResponseEntity<RecipeResponse> getRecipe(Long recipeId, @Nullable String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            ETag eTag = recipeETag(recipeId, recipeService.getRecipeVersion(recipeId));
+
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.formattedTag()).build();
+            }
+        }
+
+        RecipeResponse recipe = recipeService.getRecipe(recipeId);
+
+        return ResponseEntity.ok().eTag(recipeETag(recipeId, recipe.getVersion()).formattedTag()).body(recipe);
     }
 
     @Override
-    public ResponseEntity<PaginatedRecipeResponse> searchRecipes(Integer page, Integer size, @Nullable String search, @Nullable String sortBy, String direction) {
-        return ResponseEntity.ok(recipeService.searchRecipes(page, size, search, sortBy, direction));
+    public ResponseEntity<PaginatedRecipeResponse> searchRecipes(Integer page, Integer size, @Nullable String search, String searchMode, @Nullable String sortBy, String direction, @Nullable String after, String count, String view, @Nullable String ifNoneMatch) {
+        PaginatedRecipeResponse response;
+        String normalizedView = SearchQuery.normalizeView(view);
+
+        if (after != null) {
+            response = recipeService.searchRecipes(page, size, search, searchMode, sortBy, direction, after, count, normalizedView);
+        } else {
+            SearchQuery query = new SearchQuery(search, searchMode, page, size, sortBy, direction, count, normalizedView);
+
+            response = searchResultCache.get(query,
+                    () -> recipeService.searchRecipes(page, size, query.search(), query.searchMode(), query.sortBy(),
+                            query.direction(), null, query.count(), query.view()));
+        }
+
+        ETag eTag = pageETag(response, normalizedView);
+
+        if (ifNoneMatch != null && matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.formattedTag()).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag.formattedTag()).body(response);
     }
 
     @Override
     public ResponseEntity<RecipeResponse> updateRecipe(Long recipeId, RecipeUpdateRequest recipeUpdateRequest) {
         return ResponseEntity.ok(recipeService.updateRecipeById(recipeId, recipeUpdateRequest));
     }
+
+    @Override
+    public ResponseEntity<Void> patchRecipe(Long recipeId, RecipePatchRequest recipePatchRequest) {
+        long version = recipeService.patchRecipeById(recipeId, recipePatchRequest);
+
+        return ResponseEntity.noContent().eTag(recipeETag(recipeId, version).formattedTag()).build();
+    }
+
+    private static ETag recipeETag(Long recipeId, long version) {
+        return new ETag(recipeId + "-" + version, false);
+    }
+
+    // A page changes when any of its recipes is updated, or when recipes move in or out of it. The tag is a SHA-256
+    // digest of that state, so that two different pages cannot realistically share a strong validator.
+    private static ETag pageETag(PaginatedRecipeResponse response, String view) {
+        StringBuilder state = new StringBuilder()
+                .append(view)
+                .append('|').append(response.getTotalElements())
+                .append('|').append(response.getHasNext())
+                .append('|').append(response.getNextCursor());
+
+        for (RecipeListItemResponse recipe : response.getContent()) {
+            state.append('|').append(recipe.getId()).append(':').append(recipe.getVersion());
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(state.toString().getBytes(StandardCharsets.UTF_8));
+
+            return new ETag("page-" + HexFormat.of().formatHex(digest), false);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, ETag eTag) {
+        return ETag.parse(ifNoneMatch).stream().anyMatch(candidate -> candidate.isWildcard() || candidate.compare(eTag, false));
+    }
 }
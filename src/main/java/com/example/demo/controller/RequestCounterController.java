@@ -1,7 +1,12 @@
 package com.example.demo.controller;
 
 import com.example.demo.api.RequestApi;
+import com.example.demo.filter.ClusterRequestCounter;
+import com.example.demo.filter.LatencyHistogram;
 import com.example.demo.filter.RequestCounterFilter;
+import com.example.demo.models.EndpointLatencyStats;
+import com.example.demo.models.RequestMetricsResponse;
+import com.example.demo.models.RequestStatsResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,9 +16,46 @@ import org.springframework.web.bind.annotation.RestController;
 public class RequestCounterController implements RequestApi {
 
     private final RequestCounterFilter requestCounterFilter;
+    private final ClusterRequestCounter clusterRequestCounter;
 
     @Override
     public ResponseEntity<Long> getRequestCount() {
+        if (clusterRequestCounter.isEnabled()) {
+            return ResponseEntity.ok(clusterRequestCounter.getClusterCount());
+        }
+
         return ResponseEntity.ok(requestCounterFilter.getRequestCount());
     }
+
+    @Override
+    public ResponseEntity<RequestMetricsResponse> getRequestMetrics() {
+        return ResponseEntity.ok(new RequestMetricsResponse()
+                .total(requestCounterFilter.getRequestCount())
+                .inFlight(requestCounterFilter.getInFlightCount())
+                .statusClasses(requestCounterFilter.getStatusClassCounts())
+                .endpoints(requestCounterFilter.getEndpointCounts()));
+    }
+
+    @Override
+    public ResponseEntity<RequestStatsResponse> getRequestStats() {
+        return ResponseEntity.ok(new RequestStatsResponse()
+                .windowSeconds(RequestCounterFilter.LATENCY_WINDOW.toSeconds())
+                .endpoints(requestCounterFilter.getLatencyStats().entrySet().stream()
+                        .map(entry -> toLatencyStats(entry.getKey(), entry.getValue()))
+                        .toList()));
+    }
+
+    private static EndpointLatencyStats toLatencyStats(String endpoint, LatencyHistogram.Snapshot snapshot) {
+        return new EndpointLatencyStats()
+                .endpoint(endpoint)
+                .count(snapshot.count())
+                .p50(toMillis(snapshot.p50()))
+                .p95(toMillis(snapshot.p95()))
+                .p99(toMillis(snapshot.p99()))
+                .max(toMillis(snapshot.max()));
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
 }
@@ -15,7 +15,8 @@ import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 public class Ingredient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_id_seq")
+    @SequenceGenerator(name = "ingredient_id_seq", sequenceName = "ingredient_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Ingredient name must not be empty")
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.OptimisticLock;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.time.OffsetDateTime;
@@ -19,7 +20,8 @@ import java.util.List;
 public class Recipe {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_id_seq")
+    @SequenceGenerator(name = "recipe_id_seq", sequenceName = "recipe_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Recipe name must not be empty")
@@ -33,6 +35,7 @@ public class Recipe {
 
     @NotNull
     @NotEmpty(message = "Recipe must have at least one ingredient")
+    @OptimisticLock(excluded = false)
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Ingredient> ingredients;
 
@@ -49,6 +52,10 @@ public class Recipe {
     @Column(nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum Difficulty {
         EASY, MEDIUM, HARD
     }
@@ -0,0 +1,4 @@
+package com.example.demo.event;
+
+public record RecipesImportedEvent(long imported) {
+}
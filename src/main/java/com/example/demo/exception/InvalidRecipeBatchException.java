@@ -0,0 +1,15 @@
+package com.example.demo.exception;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+public class InvalidRecipeBatchException extends RuntimeException {
+    private final Map<String, String> errors;
+
+    public InvalidRecipeBatchException(Map<String, String> errors) {
+        super("Validation failed for " + errors.size() + " field(s) in the batch");
+        this.errors = errors;
+    }
+}
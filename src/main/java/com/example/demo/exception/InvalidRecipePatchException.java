@@ -0,0 +1,15 @@
+package com.example.demo.exception;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+public class InvalidRecipePatchException extends RuntimeException {
+    private final Map<String, String> errors;
+
+    public InvalidRecipePatchException(Map<String, String> errors) {
+        super("Validation failed for " + errors.size() + " field(s) in the patch");
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.filter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.SortedMap;
+
+/**
+ * Persists request counts so they survive restarts and add up across replicas. Requests are only counted
+ * in memory by {@link RequestCounterFilter}; the deltas are upserted into {@code request_counter} in the
+ * background, and the cluster total is re-read after each flush, so no request waits on the database.
+ */
+@Slf4j
+@Component
+public class ClusterRequestCounter {
+
+    // Rows are upserted in key order so that replicas flushing at the same time lock them in the same order.
+    private static final String UPSERT_SQL = """
+            INSERT INTO request_counter (endpoint, count)
+            SELECT endpoint, count FROM unnest(?::text[], ?::bigint[]) AS delta(endpoint, count)
+            ORDER BY endpoint
+            ON CONFLICT (endpoint) DO UPDATE SET count = request_counter.count + EXCLUDED.count, updated_at = now()
+            """;
+
+    private static final String TOTAL_SQL = "SELECT coalesce(sum(count), 0) FROM request_counter";
+
+    private final RequestCounterFilter requestCounterFilter;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private volatile long clusterCount;
+
+    public ClusterRequestCounter(
+            RequestCounterFilter requestCounterFilter,
+            JdbcTemplate jdbcTemplate,
+            @Value("${recipes.request-counter.persistence.enabled}") boolean enabled
+    ) {
+        this.requestCounterFilter = requestCounterFilter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the total across all replicas as of the last flush
+     */
+    public long getClusterCount() {
+        return clusterCount;
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.request-counter.persistence.flush-interval}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        SortedMap<String, Long> counts = requestCounterFilter.drainUnflushedCounts();
+
+        if (!counts.isEmpty()) {
+            try {
+                jdbcTemplate.update(UPSERT_SQL, statement -> {
+                    Connection connection = statement.getConnection();
+                    statement.setArray(1, connection.createArrayOf("text", counts.keySet().toArray()));
+                    statement.setArray(2, connection.createArrayOf("bigint", counts.values().toArray()));
+                });
+            } catch (DataAccessException e) {
+                log.warn("Could not flush request counts, retrying with the next flush", e);
+                requestCounterFilter.restoreUnflushedCounts(counts);
+                return;
+            }
+        }
+
+        try {
+            clusterCount = jdbcTemplate.queryForObject(TOTAL_SQL, Long.class);
+        } catch (DataAccessException e) {
+            log.warn("Could not read cluster request count", e);
+        }
+    }
+}
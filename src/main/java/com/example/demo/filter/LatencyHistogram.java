@@ -0,0 +1,134 @@
+package com.example.demo.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram over a rolling time window, bucketed like HdrHistogram: values below 128 µs get
+ * their own bucket, larger ones get 64 buckets per power of two, which keeps quantiles within 1.6%.
+ * <p>
+ * The window is split into slots that are reused round-robin; the first recording in a new slot clears it.
+ * Recording only touches atomics and never allocates. Samples recorded concurrently with a slot reset may be lost.
+ */
+public class LatencyHistogram {
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final int LINEAR_BITS = 7;
+    private static final int LINEAR_BUCKETS = 1 << LINEAR_BITS;
+    private static final int SUB_BUCKETS = LINEAR_BUCKETS / 2;
+    private static final int BUCKETS = bucketIndex(HIGHEST_TRACKABLE_MICROS) + 1;
+
+    private final long slotNanos;
+    private final Slot[] slots;
+
+    public LatencyHistogram(long windowNanos, int slotCount) {
+        this.slotNanos = windowNanos / slotCount;
+        this.slots = new Slot[slotCount];
+
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    public void record(long micros, long nowNanos) {
+        long epoch = Math.floorDiv(nowNanos, slotNanos);
+        Slot slot = slots[(int) Math.floorMod(epoch, slots.length)];
+        long slotEpoch = slot.epoch.get();
+
+        if (slotEpoch < epoch && slot.epoch.compareAndSet(slotEpoch, epoch)) {
+            slot.clear();
+        }
+
+        long value = Math.clamp(micros, 0, HIGHEST_TRACKABLE_MICROS);
+        slot.counts.incrementAndGet(bucketIndex(value));
+        slot.max.accumulateAndGet(value, Math::max);
+    }
+
+    public Snapshot snapshot(long nowNanos) {
+        long oldestEpoch = Math.floorDiv(nowNanos, slotNanos) - slots.length;
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        long max = 0;
+
+        for (Slot slot : slots) {
+            if (slot.epoch.get() <= oldestEpoch) {
+                continue;
+            }
+
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = slot.counts.get(i);
+                counts[i] += count;
+                total += count;
+            }
+
+            max = Math.max(max, slot.max.get());
+        }
+
+        return new Snapshot(total,
+                quantile(counts, total, 0.50, max),
+                quantile(counts, total, 0.95, max),
+                quantile(counts, total, 0.99, max),
+                max);
+    }
+
+    private static long quantile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return Math.min(bucketMidpoint(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (LINEAR_BITS - 1);
+
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long lowest = (long) ((index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+
+        return lowest + (1L << shift) / 2;
+    }
+
+    /**
+     * Latencies over the window in microseconds.
+     */
+    public record Snapshot(long count, long p50, long p95, long p99, long max) {
+    }
+
+    private static final class Slot {
+        private final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong max = new AtomicLong();
+
+        private void clear() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+
+            max.set(0);
+        }
+    }
+}
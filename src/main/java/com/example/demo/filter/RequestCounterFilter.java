@@ -1,29 +1,221 @@
 package com.example.demo.filter;
 
 import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicLong;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Counts requests per endpoint and status class and records their latency over a rolling window. All counters
+ * are {@link LongAdder}s, so concurrent requests update separate cells instead of contending on a single value,
+ * and recording a request does not allocate once its endpoint has been seen.
+ */
 @Component
 public class RequestCounterFilter implements Filter {
+    static final String UNMATCHED_ROUTE = "UNMATCHED";
+    public static final Duration LATENCY_WINDOW = Duration.ofMinutes(1);
+    private static final int LATENCY_WINDOW_SLOTS = 6;
 
-    private final AtomicLong requestCount = new AtomicLong(0);
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder inFlightCount = new LongAdder();
+    private final LongAdder[] statusClassCounts = newAdders(5);
+    private final ConcurrentMap<String, ConcurrentMap<String, EndpointMetrics>> endpoints = new ConcurrentHashMap<>();
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
             throws IOException, ServletException {
 
-        requestCount.incrementAndGet();
-        filterChain.doFilter(servletRequest, servletResponse);
+        long start = System.nanoTime();
+        requestCount.increment();
+        inFlightCount.increment();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        boolean asyncStarted = false;
+
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+
+            // A streaming or deferred response is still being written, so the request ends when it completes.
+            asyncStarted = servletRequest.isAsyncStarted();
+
+            if (asyncStarted) {
+                servletRequest.getAsyncContext().addListener(new CompletionListener(start), servletRequest, servletResponse);
+            } else if (servletResponse instanceof HttpServletResponse response) {
+                status = response.getStatus();
+            }
+        } finally {
+            if (!asyncStarted) {
+                finish(servletRequest, status, start);
+            }
+        }
+    }
+
+    private void finish(ServletRequest servletRequest, int status, long start) {
+        inFlightCount.decrement();
+
+        if (servletRequest instanceof HttpServletRequest request) {
+            record(request, status, start, System.nanoTime());
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long start, long end) {
+        int statusClass = status / 100;
+
+        if (statusClass >= 1 && statusClass <= statusClassCounts.length) {
+            statusClassCounts[statusClass - 1].increment();
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        EndpointMetrics endpoint = endpoints
+                .computeIfAbsent(route instanceof String pattern ? pattern : UNMATCHED_ROUTE, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(request.getMethod(), key -> new EndpointMetrics());
+
+        endpoint.count.increment();
+        endpoint.unflushed.increment();
+        endpoint.latency.record(TimeUnit.NANOSECONDS.toMicros(end - start), end);
     }
 
     public long getRequestCount() {
-        return requestCount.get();
+        return requestCount.sum();
+    }
+
+    public long getInFlightCount() {
+        return inFlightCount.sum();
+    }
+
+    /**
+     * @return request counts keyed by status class, e.g. {@code 2xx}
+     */
+    public Map<String, Long> getStatusClassCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+
+        for (int i = 0; i < statusClassCounts.length; i++) {
+            counts.put((i + 1) + "xx", statusClassCounts[i].sum());
+        }
+
+        return counts;
+    }
+
+    /**
+     * @return request counts keyed by method and route template, e.g. {@code GET /recipe/{recipeId}}
+     */
+    public Map<String, Long> getEndpointCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+
+        endpoints.forEach((route, methods) ->
+                methods.forEach((method, endpoint) -> counts.put(method + " " + route, endpoint.count.sum())));
+
+        return counts;
+    }
+
+    /**
+     * @return latencies over the last {@link #LATENCY_WINDOW} keyed by method and route template
+     */
+    public Map<String, LatencyHistogram.Snapshot> getLatencyStats() {
+        long now = System.nanoTime();
+        Map<String, LatencyHistogram.Snapshot> stats = new TreeMap<>();
+
+        endpoints.forEach((route, methods) ->
+                methods.forEach((method, endpoint) -> stats.put(method + " " + route, endpoint.latency.snapshot(now))));
+
+        return stats;
+    }
+
+    /**
+     * Takes the per-endpoint counts recorded since the previous drain. Concurrent drains receive disjoint counts.
+     *
+     * @return counts keyed by method and route template, sorted by key
+     */
+    public SortedMap<String, Long> drainUnflushedCounts() {
+        SortedMap<String, Long> counts = new TreeMap<>();
+
+        endpoints.forEach((route, methods) -> methods.forEach((method, endpoint) -> {
+            long count = endpoint.unflushed.sumThenReset();
+
+            if (count > 0) {
+                counts.put(method + " " + route, count);
+            }
+        }));
+
+        return counts;
+    }
+
+    /**
+     * Puts back counts taken by {@link #drainUnflushedCounts()} that could not be flushed.
+     */
+    public void restoreUnflushedCounts(Map<String, Long> counts) {
+        counts.forEach((key, count) -> {
+            String[] methodAndRoute = key.split(" ", 2);
+
+            endpoints.computeIfAbsent(methodAndRoute[1], route -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(methodAndRoute[0], method -> new EndpointMetrics())
+                    .unflushed.add(count);
+        });
     }
 
     public void resetRequestCount() {
-        requestCount.set(0);
+        requestCount.reset();
+
+        for (LongAdder count : statusClassCounts) {
+            count.reset();
+        }
+
+        endpoints.clear();
+    }
+
+    private final class CompletionListener implements AsyncListener {
+        private final long start;
+
+        private CompletionListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(event.getSuppliedRequest(), event.getSuppliedResponse() instanceof HttpServletResponse response
+                    ? response.getStatus()
+                    : HttpServletResponse.SC_INTERNAL_SERVER_ERROR, start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // Listeners are dropped when the request is put into async mode again, so stay registered for its completion.
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this, event.getSuppliedRequest(), event.getSuppliedResponse());
+        }
+    }
+
+    private static final class EndpointMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder unflushed = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram(LATENCY_WINDOW.toNanos(), LATENCY_WINDOW_SLOTS);
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+
+        return adders;
     }
 }
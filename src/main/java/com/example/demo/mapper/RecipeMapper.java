@@ -1,32 +1,58 @@
 package com.example.demo.mapper;
 
+import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.Recipe;
+import com.example.demo.models.IngredientResponse;
 import com.example.demo.models.PaginatedRecipeResponse;
+import com.example.demo.models.RecipeListItemResponse;
 import com.example.demo.models.RecipeRequest;
 import com.example.demo.models.RecipeResponse;
 import com.example.demo.models.RecipeUpdateRequest;
+import com.example.demo.repository.IngredientView;
+import com.example.demo.repository.RecipeView;
 import org.mapstruct.*;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = IngredientMapper.class)
 public interface RecipeMapper {
 
     RecipeResponse toResponse(Recipe recipe);
 
-    PaginatedRecipeResponse toResponse(Page<Recipe> recipes);
+    @Mapping(target = "ingredients", source = "recipeIngredients")
+    RecipeResponse toResponse(Recipe recipe, List<Ingredient> recipeIngredients);
+
+    RecipeListItemResponse toResponse(RecipeView recipe);
+
+    IngredientResponse toResponse(IngredientView ingredient);
+
+    @Mapping(target = "hasNext", expression = "java(recipes.hasNext())")
+    @Mapping(target = "nextCursor", ignore = true)
+    PaginatedRecipeResponse toResponse(Page<RecipeView> recipes);
+
+    @Mapping(target = "totalElements", ignore = true)
+    @Mapping(target = "totalPages", ignore = true)
+    @Mapping(target = "hasNext", expression = "java(recipes.hasNext())")
+    @Mapping(target = "nextCursor", ignore = true)
+    PaginatedRecipeResponse toResponse(Slice<RecipeView> recipes);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Recipe toEntity(RecipeRequest recipeRequest);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "ingredients", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateFromRequest(RecipeUpdateRequest recipeUpdateRequest, @MappingTarget Recipe recipe);
 
+    // Only for new recipes: on updates it would load the ingredient collection, which RecipeService diffs on its own.
     @AfterMapping
-    default void linkIngredients(@MappingTarget Recipe recipe) {
+    default void linkIngredients(RecipeRequest recipeRequest, @MappingTarget Recipe recipe) {
         if (recipe.getIngredients() != null) {
             recipe.getIngredients().forEach(ingredient -> ingredient.setRecipe(recipe));
         }
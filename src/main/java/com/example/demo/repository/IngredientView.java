@@ -0,0 +1,6 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Ingredient;
+
+public record IngredientView(Long recipeId, Long id, String name, Double quantity, Ingredient.Unit unit) {
+}
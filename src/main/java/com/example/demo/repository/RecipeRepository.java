@@ -1,8 +1,99 @@
 package com.example.demo.repository;
 
+import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.Recipe;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe>, RecipeViewRepository {
+
+    @EntityGraph(attributePaths = "ingredients")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Recipe> findWithIngredientsById(Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Recipe r ORDER BY r.id")
+    Stream<Recipe> streamAllOrderById();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Ingredient i WHERE i.recipe.id IN :recipeIds ORDER BY i.recipe.id, i.id")
+    List<Ingredient> findIngredientsByRecipeIdIn(Collection<Long> recipeIds);
+
+    @Query("""
+            SELECT new com.example.demo.repository.IngredientView(i.recipe.id, i.id, i.name, i.quantity, i.unit)
+            FROM Ingredient i WHERE i.recipe.id IN :recipeIds ORDER BY i.recipe.id, i.id
+            """)
+    List<IngredientView> findIngredientViewsByRecipeIdIn(Collection<Long> recipeIds);
+
+    @Query("SELECT i FROM Ingredient i WHERE i.recipe.id = :recipeId ORDER BY i.id")
+    List<Ingredient> findIngredientsByRecipeId(Long recipeId);
+
+    @Modifying
+    @Query(value = "DELETE FROM ingredient WHERE id = ANY(:ids)", nativeQuery = true)
+    int deleteIngredientsByIdIn(Long[] ids);
+
+    // The ingredients go with the recipe through ON DELETE CASCADE, without being loaded.
+    @Modifying
+    @Query(value = "DELETE FROM recipe WHERE id = :id", nativeQuery = true)
+    int deleteWithIngredientsById(Long id);
+
+    /**
+     * Not {@code @Modifying}, which would run the statement as an update count and lose the returned ids, so the
+     * persistence context is neither flushed nor cleared: callers that may hold the deleted recipes must do both.
+     *
+     * @return the ids of the recipes that existed and were deleted
+     */
+    @Transactional
+    @Query(value = "DELETE FROM recipe WHERE id = ANY(:ids) RETURNING id", nativeQuery = true)
+    List<Long> deleteWithIngredientsByIdIn(Long[] ids);
+
+    /**
+     * Sets the given columns and bumps the version in one statement, without loading the recipe. Null arguments
+     * leave {@code name}, {@code description} and {@code difficulty} unchanged; {@code preparation_time} is only
+     * written when {@code setPreparationTime} is true, so that it can be cleared. For the same reason as
+     * {@link #deleteWithIngredientsByIdIn} this is not {@code @Modifying}; callers flush and clear around it.
+     *
+     * @return the new version, or empty if there is no such recipe
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE recipe SET
+                name = coalesce(:name, name),
+                description = coalesce(:description, description),
+                difficulty = coalesce(CAST(:difficulty AS difficulty), difficulty),
+                preparation_time = CASE WHEN :setPreparationTime THEN :preparationTime ELSE preparation_time END,
+                version = version + 1
+            WHERE id = :id
+            RETURNING version
+            """, nativeQuery = true)
+    Optional<Long> patchById(
+            Long id,
+            @Nullable String name,
+            @Nullable String description,
+            @Nullable String difficulty,
+            boolean setPreparationTime,
+            @Nullable Integer preparationTime
+    );
+
+    @Query("SELECT r.version FROM Recipe r WHERE r.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'recipe'::regclass", nativeQuery = true)
+    long estimateCount();
 }
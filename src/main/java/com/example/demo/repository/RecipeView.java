@@ -0,0 +1,27 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Recipe;
+import org.jspecify.annotations.Nullable;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * The columns of a recipe that list responses are built from. {@code description} is null in summary views and
+ * {@code ingredients} stays null unless they are loaded for the page.
+ */
+public record RecipeView(
+        Long id,
+        String name,
+        @Nullable String description,
+        Recipe.Difficulty difficulty,
+        @Nullable Integer preparationTime,
+        OffsetDateTime createdAt,
+        Long version,
+        @Nullable List<IngredientView> ingredients
+) {
+
+    public RecipeView withIngredients(List<IngredientView> ingredients) {
+        return new RecipeView(id, name, description, difficulty, preparationTime, createdAt, version, ingredients);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Recipe;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reads pages of recipes as {@link RecipeView}s. Only the listed columns are selected and no entities are created,
+ * so nothing ends up in the persistence context.
+ */
+public interface RecipeViewRepository {
+
+    Page<RecipeView> findViews(@Nullable Specification<Recipe> specification, Pageable pageable, boolean withDescription);
+
+    /**
+     * Like {@link #findViews} without the count query; one extra row is read to tell whether more recipes follow.
+     */
+    Slice<RecipeView> findViewSlice(@Nullable Specification<Recipe> specification, Pageable pageable, boolean withDescription);
+
+    /**
+     * Matches words in the name, description and ingredient names and orders the recipes by relevance.
+     */
+    Page<RecipeView> searchFullText(String search, Pageable pageable, boolean withDescription);
+}
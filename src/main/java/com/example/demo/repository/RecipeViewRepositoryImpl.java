@@ -0,0 +1,148 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Recipe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+class RecipeViewRepositoryImpl implements RecipeViewRepository {
+    private static final String FULL_TEXT_SQL = """
+            SELECT r.id, r.name, %s AS description, r.difficulty::text AS difficulty, r.preparation_time, r.created_at, r.version
+            FROM recipe r, websearch_to_tsquery('english', :search) query
+            WHERE r.search_vector @@ query
+            ORDER BY ts_rank(r.search_vector, query) DESC, r.id
+            """;
+
+    private static final String FULL_TEXT_COUNT_SQL = """
+            SELECT count(*) FROM recipe r
+            WHERE r.search_vector @@ websearch_to_tsquery('english', :search)
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<RecipeView> findViews(@Nullable Specification<Recipe> specification, Pageable pageable, boolean withDescription) {
+        List<RecipeView> content = select(specification, pageable, pageable.getPageSize(), withDescription);
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<RecipeView> findViewSlice(@Nullable Specification<Recipe> specification, Pageable pageable, boolean withDescription) {
+        List<RecipeView> content = select(specification, pageable, pageable.getPageSize() + 1, withDescription);
+        boolean hasNext = content.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Page<RecipeView> searchFullText(String search, Pageable pageable, boolean withDescription) {
+        Session session = entityManager.unwrap(Session.class);
+
+        List<RecipeView> content = session
+                .createNativeQuery(FULL_TEXT_SQL.formatted(withDescription ? "r.description" : "CAST(NULL AS text)"), Tuple.class)
+                .addScalar("id", Long.class)
+                .addScalar("name", String.class)
+                .addScalar("description", String.class)
+                .addScalar("difficulty", String.class)
+                .addScalar("preparation_time", Integer.class)
+                .addScalar("created_at", OffsetDateTime.class)
+                .addScalar("version", Long.class)
+                .setParameter("search", search)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream()
+                .map(tuple -> new RecipeView(
+                        tuple.get("id", Long.class),
+                        tuple.get("name", String.class),
+                        tuple.get("description", String.class),
+                        Recipe.Difficulty.valueOf(tuple.get("difficulty", String.class)),
+                        tuple.get("preparation_time", Integer.class),
+                        tuple.get("created_at", OffsetDateTime.class),
+                        tuple.get("version", Long.class),
+                        null
+                ))
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> session
+                .createNativeQuery(FULL_TEXT_COUNT_SQL, Long.class)
+                .setParameter("search", search)
+                .getSingleResult());
+    }
+
+    private List<RecipeView> select(@Nullable Specification<Recipe> specification, Pageable pageable, int limit, boolean withDescription) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Recipe> recipe = query.from(Recipe.class);
+
+        where(query, recipe, cb, specification);
+
+        query.multiselect(
+                recipe.get("id"),
+                recipe.get("name"),
+                withDescription ? recipe.get("description") : cb.nullLiteral(String.class),
+                recipe.get("difficulty"),
+                recipe.get("preparationTime"),
+                recipe.get("createdAt"),
+                recipe.get("version")
+        );
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), recipe, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> new RecipeView(
+                        tuple.get(0, Long.class),
+                        tuple.get(1, String.class),
+                        tuple.get(2, String.class),
+                        tuple.get(3, Recipe.Difficulty.class),
+                        tuple.get(4, Integer.class),
+                        tuple.get(5, OffsetDateTime.class),
+                        tuple.get(6, Long.class),
+                        null
+                ))
+                .toList();
+    }
+
+    private long count(@Nullable Specification<Recipe> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Recipe> recipe = query.from(Recipe.class);
+
+        where(query, recipe, cb, specification);
+
+        query.select(query.isDistinct() ? cb.countDistinct(recipe) : cb.count(recipe));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Recipe> recipe, CriteriaBuilder cb, @Nullable Specification<Recipe> specification) {
+        if (specification == null) {
+            return;
+        }
+
+        Predicate predicate = specification.toPredicate(recipe, query, cb);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Remembers successful password checks so that repeated HTTP Basic requests skip the bcrypt hash.
+ * Entries are keyed by an HMAC of the stored hash and the presented password, so a changed password
+ * never matches an old entry and failed checks are never stored.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final Mac mac;
+    private final Cache<String, Boolean> verifiedCredentials;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.mac = newMac();
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedCredentials, "credentials");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        String key = fingerprint(rawPassword, encodedPassword);
+
+        if (verifiedCredentials.getIfPresent(key) != null) {
+            return true;
+        }
+
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+
+        if (matches) {
+            verifiedCredentials.put(key, Boolean.TRUE);
+        }
+
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String fingerprint(CharSequence rawPassword, String encodedPassword) {
+        Mac keyedMac = cloneMac();
+        keyedMac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        keyedMac.update((byte) 0);
+        keyedMac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(keyedMac.doFinal());
+    }
+
+    private Mac cloneMac() {
+        try {
+            return (Mac) mac.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException("HMAC implementation is not cloneable", ex);
+        }
+    }
+
+    private static Mac newMac() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialize " + HMAC_ALGORITHM, ex);
+        }
+    }
+}
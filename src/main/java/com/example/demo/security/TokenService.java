@@ -0,0 +1,53 @@
+package com.example.demo.security;
+
+import com.example.demo.models.TokenResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class TokenService {
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private final JwtEncoder jwtEncoder;
+    private final Duration tokenTtl;
+
+    public TokenService(JwtEncoder jwtEncoder, @Value("${recipes.security.token.ttl}") Duration tokenTtl) {
+        this.jwtEncoder = jwtEncoder;
+        this.tokenTtl = tokenTtl;
+    }
+
+    public TokenResponse issueToken(Authentication authentication) {
+        Instant issuedAt = Instant.now();
+
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(authentication.getName())
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(tokenTtl))
+                .claim(ROLES_CLAIM, roles)
+                .build();
+
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+
+        return new TokenResponse()
+                .accessToken(token)
+                .tokenType(TOKEN_TYPE)
+                .expiresIn(tokenTtl.toSeconds());
+    }
+}
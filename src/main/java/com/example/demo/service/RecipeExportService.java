@@ -0,0 +1,80 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.Recipe;
+import com.example.demo.mapper.RecipeMapper;
+import com.example.demo.repository.RecipeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog as NDJSON. Recipes are read through a database cursor and their ingredients
+ * are loaded one chunk at a time; each chunk is written out and detached before the next one is read, so
+ * memory use does not grow with the size of the catalog.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeExportService {
+    private static final int CHUNK_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeMapper recipeMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportRecipes(OutputStream output) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (Stream<Recipe> recipes = recipeRepository.streamAllOrderById();
+             JsonGenerator generator = objectMapper.createGenerator(output).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            Iterator<Recipe> iterator = recipes.iterator();
+            List<Recipe> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(writer, generator, chunk);
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        log.info("Recipe export finished: {} recipes", exported);
+    }
+
+    private void writeChunk(ObjectWriter writer, JsonGenerator generator, List<Recipe> chunk) throws IOException {
+        Map<Long, List<Ingredient>> ingredients = recipeRepository
+                .findIngredientsByRecipeIdIn(chunk.stream().map(Recipe::getId).toList()).stream()
+                .collect(Collectors.groupingBy(ingredient -> ingredient.getRecipe().getId()));
+
+        for (Recipe recipe : chunk) {
+            writer.writeValue(generator, recipeMapper.toResponse(recipe, ingredients.getOrDefault(recipe.getId(), List.of())));
+            generator.writeRaw('\n');
+        }
+
+        generator.flush();
+    }
+}
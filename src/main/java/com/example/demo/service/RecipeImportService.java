@@ -0,0 +1,211 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Recipe;
+import com.example.demo.event.RecipesImportedEvent;
+import com.example.demo.mapper.RecipeMapper;
+import com.example.demo.models.ImportLineError;
+import com.example.demo.models.RecipeImportResponse;
+import com.example.demo.models.RecipeRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streams NDJSON recipes into the catalog. Valid lines are copied into a temporary staging table with
+ * PostgreSQL COPY as they are read and merged into recipe and ingredient with two set-based inserts, so
+ * memory use does not grow with the size of the import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeImportService {
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int PROGRESS_INTERVAL = 100_000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // Ids are taken the way Hibernate's pooled optimizer takes them (V10): each nextval hands out the 50 ids ending at it.
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE recipe_import (
+                position BIGINT GENERATED ALWAYS AS IDENTITY,
+                name TEXT,
+                description TEXT,
+                difficulty TEXT,
+                preparation_time INTEGER,
+                ingredients JSONB
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_SQL =
+            "COPY recipe_import (name, description, difficulty, preparation_time, ingredients) FROM STDIN";
+
+    private static final String RESERVE_RECIPE_IDS_SQL = """
+            CREATE TEMP TABLE recipe_import_id_block ON COMMIT DROP AS
+            SELECT block, nextval('recipe_id_seq') AS last_id
+            FROM generate_series(0, (SELECT (count(*) + %1$d - 1) / %1$d - 1 FROM recipe_import)) block
+            """.formatted(ID_BLOCK_SIZE);
+
+    private static final String MERGE_RECIPES_SQL = """
+            INSERT INTO recipe (id, name, description, difficulty, preparation_time)
+            SELECT b.last_id - %1$d + 1 + (r.position - 1) %% %1$d, r.name, r.description, r.difficulty::difficulty, r.preparation_time
+            FROM recipe_import r
+            JOIN recipe_import_id_block b ON b.block = (r.position - 1) / %1$d
+            """.formatted(ID_BLOCK_SIZE);
+
+    private static final String MERGE_INGREDIENTS_SQL = """
+            WITH staged AS (
+                SELECT row_number() OVER (ORDER BY r.position, i.position) - 1 AS n,
+                       b.last_id - %1$d + 1 + (r.position - 1) %% %1$d AS recipe_id,
+                       i.name, i.quantity, i.unit
+                FROM recipe_import r
+                JOIN recipe_import_id_block b ON b.block = (r.position - 1) / %1$d,
+                     ROWS FROM (jsonb_to_recordset(r.ingredients) AS (name TEXT, quantity DOUBLE PRECISION, unit TEXT))
+                         WITH ORDINALITY AS i(name, quantity, unit, position)
+            ), blocks AS (
+                SELECT block, nextval('ingredient_id_seq') AS last_id
+                FROM generate_series(0, (SELECT (count(*) + %1$d - 1) / %1$d - 1 FROM staged)) block
+            )
+            INSERT INTO ingredient (id, name, quantity, unit, recipe_id)
+            SELECT b.last_id - %1$d + 1 + s.n %% %1$d, s.name, s.quantity, s.unit::unit, s.recipe_id
+            FROM staged s
+            JOIN blocks b ON b.block = s.n / %1$d
+            ORDER BY s.n
+            """.formatted(ID_BLOCK_SIZE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RecipeMapper recipeMapper;
+    private final RecipeValidator recipeValidator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public RecipeImportResponse importRecipes(InputStream input) {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+
+        RecipeImportResponse response = jdbcTemplate.execute((ConnectionCallback<RecipeImportResponse>) connection -> {
+            try (OutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE)) {
+                return copyLines(input, copy);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        jdbcTemplate.execute(RESERVE_RECIPE_IDS_SQL);
+        jdbcTemplate.update(MERGE_RECIPES_SQL);
+        jdbcTemplate.update(MERGE_INGREDIENTS_SQL);
+
+        log.info("Recipe import finished: {} imported, {} rejected", response.getImported(), response.getRejected());
+
+        if (response.getImported() > 0) {
+            eventPublisher.publishEvent(new RecipesImportedEvent(response.getImported()));
+        }
+
+        return response;
+    }
+
+    private RecipeImportResponse copyLines(InputStream input, OutputStream copy) throws IOException {
+        RecipeImportResponse response = new RecipeImportResponse().imported(0L).rejected(0L).errors(new ArrayList<>());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new OutputStreamWriter(copy, StandardCharsets.UTF_8);
+
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (!line.isBlank()) {
+                copyLine(writer, response, lineNumber, line);
+            }
+
+            if (lineNumber % PROGRESS_INTERVAL == 0) {
+                log.info("Recipe import read {} lines: {} valid, {} rejected", lineNumber, response.getImported(), response.getRejected());
+            }
+        }
+
+        writer.flush();
+
+        return response;
+    }
+
+    private void copyLine(Writer writer, RecipeImportResponse response, long lineNumber, String line) throws IOException {
+        RecipeRequest recipeRequest;
+
+        try {
+            recipeRequest = objectMapper.readValue(line, RecipeRequest.class);
+        } catch (JsonProcessingException e) {
+            reject(response, lineNumber, e.getOriginalMessage());
+            return;
+        }
+
+        Recipe recipe = recipeMapper.toEntity(recipeRequest);
+        Map<String, String> errors = recipeValidator.validate(recipe);
+
+        if (!errors.isEmpty()) {
+            reject(response, lineNumber, errors.entrySet().stream()
+                    .map(error -> error.getKey() + ": " + error.getValue())
+                    .collect(Collectors.joining(", ")));
+            return;
+        }
+
+        writer.write(copyValue(recipe.getName()));
+        writer.write('\t');
+        writer.write(copyValue(recipe.getDescription()));
+        writer.write('\t');
+        writer.write(copyValue(recipe.getDifficulty().name()));
+        writer.write('\t');
+        writer.write(copyValue(recipe.getPreparationTime()));
+        writer.write('\t');
+        writer.write(copyValue(objectMapper.writeValueAsString(recipeRequest.getIngredients())));
+        writer.write('\n');
+
+        response.setImported(response.getImported() + 1);
+    }
+
+    private static void reject(RecipeImportResponse response, long lineNumber, String message) {
+        response.setRejected(response.getRejected() + 1);
+
+        if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+            response.addErrorsItem(new ImportLineError().line(lineNumber).message(message));
+        }
+    }
+
+    private static String copyValue(@Nullable Object value) {
+        if (value == null) {
+            return "\\N";
+        }
+
+        String text = value.toString();
+        StringBuilder escaped = new StringBuilder(text.length());
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+
+        return escaped.toString();
+    }
+}
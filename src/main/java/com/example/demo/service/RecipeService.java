@@ -1,26 +1,47 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.RecipeCache;
+import com.example.demo.config.RecipeSearchProperties;
 import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.Recipe;
+import com.example.demo.event.RecipeChangedEvent;
 import com.example.demo.exception.IngredientNotInRecipeException;
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.exception.InvalidRecipeBatchException;
+import com.example.demo.exception.InvalidRecipePatchException;
+import com.example.demo.exception.InvalidSortException;
 import com.example.demo.exception.RecipeNotFoundException;
 import com.example.demo.mapper.IngredientMapper;
 import com.example.demo.mapper.RecipeMapper;
 import com.example.demo.models.*;
+import com.example.demo.repository.IngredientView;
 import com.example.demo.repository.RecipeRepository;
+import com.example.demo.repository.RecipeView;
+import com.example.demo.specification.RecipeCursor;
 import com.example.demo.specification.RecipeSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -28,9 +49,17 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class RecipeService {
+    // Every field has a (column, id) index, so a page is read in order instead of sorting the whole table (V12).
+    static final Set<String> SORT_FIELDS = Set.of("id", "name", "difficulty", "preparationTime", "createdAt");
+
     private final RecipeRepository recipeRepository;
     private final RecipeMapper recipeMapper;
     private final IngredientMapper ingredientMapper;
+    private final RecipeSearchProperties searchProperties;
+    private final RecipeCache recipeCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecipeValidator recipeValidator;
+    private final EntityManager entityManager;
 
     @Transactional
     public RecipeResponse createRecipe(RecipeRequest recipeRequest) {
@@ -38,91 +67,381 @@ public class RecipeService {
 
         Recipe saved = recipeRepository.save(recipe);
 
+        eventPublisher.publishEvent(new RecipeChangedEvent(saved.getId()));
+
         return recipeMapper.toResponse(saved);
     }
 
+    @Transactional
+    public RecipeBatchResponse createRecipes(List<RecipeRequest> recipeRequests) {
+        List<Recipe> recipes = recipeRequests.stream().map(recipeMapper::toEntity).toList();
+
+        validateBatch(recipes);
+
+        List<Long> ids = recipeRepository.saveAll(recipes).stream().map(Recipe::getId).toList();
+
+        ids.forEach(id -> eventPublisher.publishEvent(new RecipeChangedEvent(id)));
+
+        return new RecipeBatchResponse().ids(ids);
+    }
+
+    private void validateBatch(List<Recipe> recipes) {
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        for (int i = 0; i < recipes.size(); i++) {
+            String prefix = "[" + i + "].";
+            recipeValidator.validate(recipes.get(i)).forEach((path, message) -> errors.put(prefix + path, message));
+        }
+
+        if (!errors.isEmpty()) {
+            throw new InvalidRecipeBatchException(errors);
+        }
+    }
+
+    @Transactional
     public void deleteRecipeById(Long recipeId) {
-        if (!recipeRepository.existsById(recipeId)) {
+        if (recipeRepository.deleteWithIngredientsById(recipeId) == 0) {
             throw new RecipeNotFoundException(recipeId);
         }
 
-        recipeRepository.deleteById(recipeId);
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipeId));
     }
 
+    @Transactional
+    public RecipeDeleteResponse deleteRecipesById(List<Long> recipeIds) {
+        entityManager.flush();
+
+        List<Long> deleted = recipeRepository.deleteWithIngredientsByIdIn(recipeIds.stream().distinct().toArray(Long[]::new))
+                .stream().sorted().toList();
+
+        // The DELETE ... RETURNING runs as a query, so recipes and ingredients loaded earlier would outlive their rows.
+        entityManager.clear();
+
+        deleted.forEach(id -> eventPublisher.publishEvent(new RecipeChangedEvent(id)));
+
+        return new RecipeDeleteResponse().ids(deleted);
+    }
+
+    // Not transactional, so a cache hit does not take a connection; the load fetches everything the mapper needs in one query.
     public RecipeResponse getRecipe(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
+        return recipeCache.get(recipeId, id -> {
+            Recipe recipe = recipeRepository.findWithIngredientsById(id)
+                    .orElseThrow(() -> new RecipeNotFoundException(id));
+            return recipeMapper.toResponse(recipe);
+        });
+    }
+
+    public long getRecipeVersion(Long recipeId) {
+        RecipeResponse cached = recipeCache.getIfPresent(recipeId);
+
+        if (cached != null) {
+            return cached.getVersion();
+        }
+
+        return recipeRepository.findVersionById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException(recipeId));
-        return recipeMapper.toResponse(recipe);
     }
 
+    @Transactional(readOnly = true)
     public PaginatedRecipeResponse searchRecipes(
             Integer page,
             Integer size,
             @Nullable String search,
+            @Nullable String searchMode,
             @Nullable String sortBy,
-            String direction
+            String direction,
+            @Nullable String after,
+            @Nullable String count,
+            @Nullable String view
     ) {
-        Sort sort = Sort.by(
-            direction != null && direction.equalsIgnoreCase("desc")
+        boolean full = !"summary".equalsIgnoreCase(view);
+        String sortField = sortBy != null ? sortBy : "name";
+
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new InvalidSortException("Sorting by '" + sortField + "' is not supported, use one of " + new TreeSet<>(SORT_FIELDS));
+        }
+        Sort.Direction sortDirection = direction != null && direction.equalsIgnoreCase("desc")
                 ? Sort.Direction.DESC
-                : Sort.Direction.ASC,
-            sortBy != null ? sortBy : "name"
-        );
+                : Sort.Direction.ASC;
+
+        Sort sort = Sort.by(sortDirection, sortField);
+
+        if (!sortField.equals("id")) {
+            sort = sort.and(Sort.by(sortDirection, "id"));
+        }
+
+        boolean hasSearch = search != null && !search.trim().isEmpty();
+
+        if (hasSearch && "fulltext".equalsIgnoreCase(searchMode)) {
+            if (after != null) {
+                throw new InvalidCursorException("Cursor pagination is not supported for full-text search");
+            }
+
+            Page<RecipeView> recipePage = recipeRepository.searchFullText(search.trim(), PageRequest.of(page, size), full);
+            return recipeMapper.toResponse(withIngredients(recipePage, full));
+        }
+
+        Specification<Recipe> specification = hasSearch
+                ? RecipeSpecifications.searchRecipe(search, searchProperties.getStrategy())
+                : null;
+
+        if (after != null) {
+            return searchRecipesAfter(after, size, specification, sortField, sortDirection, sort, full);
+        }
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        if(search == null || search.trim().isEmpty()) {
-            Page<Recipe> recipePage = recipeRepository.findAll(pageable);
-            return recipeMapper.toResponse(recipePage);
+        if ("none".equalsIgnoreCase(count)) {
+            Slice<RecipeView> recipeSlice = recipeRepository.findViewSlice(specification, pageable, full);
+            PaginatedRecipeResponse response = recipeMapper.toResponse(withIngredients(recipeSlice, full));
+
+            return withNextCursor(response, recipeSlice, sortField, sortDirection);
+        }
+
+        Page<RecipeView> recipePage = specification == null && "estimate".equalsIgnoreCase(count)
+                ? findAllWithEstimatedCount(pageable, full)
+                : recipeRepository.findViews(specification, pageable, full);
+
+        PaginatedRecipeResponse response = recipeMapper.toResponse(withIngredients(recipePage, full));
+
+        return withNextCursor(response, recipePage, sortField, sortDirection);
+    }
+
+    private Page<RecipeView> findAllWithEstimatedCount(Pageable pageable, boolean full) {
+        Slice<RecipeView> recipeSlice = recipeRepository.findViewSlice(null, pageable, full);
+        long seen = pageable.getOffset() + recipeSlice.getNumberOfElements();
+
+        // Past the end a stale estimate would advertise pages that do not exist, so count exactly instead.
+        if (!recipeSlice.hasContent() && pageable.getOffset() > 0) {
+            return new PageImpl<>(recipeSlice.getContent(), pageable, recipeRepository.count());
+        }
+
+        if (!recipeSlice.hasNext()) {
+            return new PageImpl<>(recipeSlice.getContent(), pageable, seen);
+        }
+
+        long estimate = recipeRepository.estimateCount();
+        long total = estimate < 0 ? recipeRepository.count() : Math.max(estimate, seen + 1);
+
+        return new PageImpl<>(recipeSlice.getContent(), pageable, total);
+    }
+
+    private PaginatedRecipeResponse searchRecipesAfter(
+            String after,
+            Integer size,
+            @Nullable Specification<Recipe> specification,
+            String sortField,
+            Sort.Direction sortDirection,
+            Sort sort,
+            boolean full
+    ) {
+        Specification<Recipe> seek = specification;
+
+        if (!after.isEmpty()) {
+            RecipeCursor cursor = RecipeCursor.decode(after);
+
+            if (!cursor.sortBy().equals(sortField) || cursor.direction() != sortDirection) {
+                throw new InvalidCursorException("Cursor was issued for a different sort order");
+            }
+
+            Specification<Recipe> seekAfter = RecipeSpecifications.seekAfter(cursor);
+            seek = seek == null ? seekAfter : seek.and(seekAfter);
+        }
+
+        Slice<RecipeView> recipeSlice = recipeRepository.findViewSlice(seek, PageRequest.of(0, size, sort), full);
+
+        PaginatedRecipeResponse response = recipeMapper.toResponse(withIngredients(recipeSlice, full));
+
+        return withNextCursor(response, recipeSlice, sortField, sortDirection);
+    }
+
+    private PaginatedRecipeResponse withNextCursor(
+            PaginatedRecipeResponse response,
+            Slice<RecipeView> recipeSlice,
+            String sortField,
+            Sort.Direction sortDirection
+    ) {
+        if (recipeSlice.hasNext() && recipeSlice.hasContent()) {
+            response.setNextCursor(RecipeCursor.of(recipeSlice.getContent().getLast(), sortField, sortDirection).encode());
         }
 
-        Page<Recipe> recipePage = recipeRepository.findAll(
-                RecipeSpecifications.searchRecipe(search), pageable
-        );
+        return response;
+    }
+
+    // Summaries go without ingredients; full views read them for the whole page with one query, as plain rows.
+    private Page<RecipeView> withIngredients(Page<RecipeView> recipePage, boolean full) {
+        return !full || recipePage.isEmpty() ? recipePage : recipePage.map(ingredientLoader(recipePage.getContent()));
+    }
+
+    private Slice<RecipeView> withIngredients(Slice<RecipeView> recipeSlice, boolean full) {
+        return !full || recipeSlice.isEmpty() ? recipeSlice : recipeSlice.map(ingredientLoader(recipeSlice.getContent()));
+    }
+
+    private Function<RecipeView, RecipeView> ingredientLoader(List<RecipeView> recipes) {
+        List<Long> recipeIds = recipes.stream().map(RecipeView::id).toList();
+
+        Map<Long, List<IngredientView>> ingredientsByRecipeId = recipeRepository.findIngredientViewsByRecipeIdIn(recipeIds).stream()
+                .collect(Collectors.groupingBy(IngredientView::recipeId));
 
-        return recipeMapper.toResponse(recipePage);
+        return recipe -> recipe.withIngredients(ingredientsByRecipeId.getOrDefault(recipe.id(), List.of()));
     }
 
     @Transactional
     public RecipeResponse updateRecipeById(Long recipeId, RecipeUpdateRequest recipeUpdateRequest) {
         Recipe recipe = recipeRepository.findById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException(recipeId));
+        Long version = recipe.getVersion();
+
+        List<Ingredient> ingredients = new ArrayList<>();
+        boolean ingredientsChanged = mergeIngredients(recipe, recipeUpdateRequest.getIngredients(), ingredients);
 
         recipeMapper.updateFromRequest(recipeUpdateRequest, recipe);
 
-        mergeIngredients(recipe, recipeUpdateRequest.getIngredients());
+        entityManager.flush();
+
+        // Recipe#ingredients is left untouched, so an ingredient-only change has to bump the version explicitly.
+        if (ingredientsChanged && Objects.equals(version, recipe.getVersion())) {
+            entityManager.lock(recipe, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipeId));
 
-        return recipeMapper.toResponse(recipeRepository.save(recipe));
+        return recipeMapper.toResponse(recipe, ingredients);
     }
 
-    private void mergeIngredients(Recipe recipe, List<IngredientUpdateRequest> requests) {
+    /**
+     * Applies a JSON Merge Patch. The recipe itself is never loaded: its columns are written with a single UPDATE, and
+     * the ingredients are only read and diffed when the patch contains them.
+     *
+     * @return the version of the recipe after the patch
+     */
+    @Transactional
+    public long patchRecipeById(Long recipeId, RecipePatchRequest patch) {
+        validatePatch(patch);
+
+        boolean scalarsPresent = patch.getName().isPresent()
+                || patch.getDescription().isPresent()
+                || patch.getDifficulty().isPresent()
+                || patch.getPreparationTime().isPresent();
+
+        if (patch.getIngredients().isPresent() || !scalarsPresent) {
+            long version = recipeRepository.findVersionById(recipeId)
+                    .orElseThrow(() -> new RecipeNotFoundException(recipeId));
+
+            boolean ingredientsChanged = patch.getIngredients().isPresent() && mergeIngredients(
+                    entityManager.getReference(Recipe.class, recipeId), patch.getIngredients().get(), new ArrayList<>());
+
+            if (!ingredientsChanged && !scalarsPresent) {
+                return version;
+            }
+        }
+
+        entityManager.flush();
+
+        long version = recipeRepository.patchById(
+                recipeId,
+                patch.getName().orElse(null),
+                patch.getDescription().orElse(null),
+                patch.getDifficulty().isPresent() ? patch.getDifficulty().get().getValue() : null,
+                patch.getPreparationTime().isPresent(),
+                patch.getPreparationTime().orElse(null)
+        ).orElseThrow(() -> new RecipeNotFoundException(recipeId));
+
+        // As with the batch delete, a recipe loaded earlier in the transaction would keep its old columns and version.
+        entityManager.clear();
+
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipeId));
 
-        Map<Long, Ingredient> existingById = recipe.getIngredients().stream()
-                .filter(i -> i.getId() != null)
+        return version;
+    }
+
+    // The UPDATE bypasses entity validation, so the constraints of Recipe that the schema cannot express are checked here.
+    private static void validatePatch(RecipePatchRequest patch) {
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        if (patch.getName().isPresent() && isBlank(patch.getName().get())) {
+            errors.put("name", "Recipe name must not be empty");
+        }
+
+        if (patch.getDescription().isPresent() && isBlank(patch.getDescription().get())) {
+            errors.put("description", "Recipe description must not be empty");
+        }
+
+        if (patch.getDifficulty().isPresent() && patch.getDifficulty().get() == null) {
+            errors.put("difficulty", "must not be null");
+        }
+
+        if (patch.getIngredients().isPresent() && patch.getIngredients().get() == null) {
+            errors.put("ingredients", "Recipe must have at least one ingredient");
+        }
+
+        if (!errors.isEmpty()) {
+            throw new InvalidRecipePatchException(errors);
+        }
+    }
+
+    private static boolean isBlank(@Nullable String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Applies the requested ingredients as a diff against the stored rows: unchanged rows are not written, changed and
+     * new ones are batched on flush and removed ones are deleted with a single statement.
+     *
+     * @return whether any ingredient was inserted, updated or deleted
+     */
+    private boolean mergeIngredients(Recipe recipe, List<IngredientUpdateRequest> requests, List<Ingredient> result) {
+        Map<Long, Ingredient> existingById = recipeRepository.findIngredientsByRecipeId(recipe.getId()).stream()
                 .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
 
-        List<Ingredient> result = new ArrayList<>();
+        Map<Long, Ingredient> removed = new HashMap<>(existingById);
+
+        for (IngredientUpdateRequest req : requests) {
+            if (req.getId() != null) {
+                if (!existingById.containsKey(req.getId())) {
+                    throw new IngredientNotInRecipeException(req.getId(), recipe.getId());
+                }
+
+                removed.remove(req.getId());
+            }
+        }
+
+        // Deleted while nothing is dirty yet, so the flush before the statement does not validate the recipe,
+        // which would load its ingredients, removed ones included.
+        if (!removed.isEmpty()) {
+            recipeRepository.deleteIngredientsByIdIn(removed.keySet().toArray(Long[]::new));
+            removed.values().forEach(entityManager::detach);
+        }
+
+        boolean changed = !removed.isEmpty();
 
         for (IngredientUpdateRequest req : requests) {
 
             if (req.getId() != null) {
                 Ingredient existing = existingById.get(req.getId());
 
-                if (existing == null) {
-                    throw new IngredientNotInRecipeException(req.getId(), recipe.getId());
+                if (!sameContent(existing, ingredientMapper.toEntity(req))) {
+                    ingredientMapper.updateFromRequest(req, existing);
+                    changed = true;
                 }
 
-                ingredientMapper.updateFromRequest(req, existing);
                 result.add(existing);
 
             } else {
                 Ingredient newIngredient = ingredientMapper.toEntity(req);
                 newIngredient.setRecipe(recipe);
+                entityManager.persist(newIngredient);
                 result.add(newIngredient);
+                changed = true;
             }
         }
 
-        recipe.getIngredients().clear();
-        recipe.getIngredients().addAll(result);
+        return changed;
+    }
+
+    private static boolean sameContent(Ingredient ingredient, Ingredient requested) {
+        return Objects.equals(ingredient.getName(), requested.getName())
+                && Objects.equals(ingredient.getQuantity(), requested.getQuantity())
+                && ingredient.getUnit() == requested.getUnit();
     }
 }
@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.Recipe;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies the entity constraints of a mapped recipe and its ingredients up front, for bulk writes
+ * that should report every invalid item instead of failing on the first flush.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeValidator {
+    private final Validator validator;
+
+    public Map<String, String> validate(Recipe recipe) {
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        collectViolations(errors, "", validator.validate(recipe));
+
+        List<Ingredient> ingredients = Objects.requireNonNullElse(recipe.getIngredients(), List.of());
+
+        for (int i = 0; i < ingredients.size(); i++) {
+            collectViolations(errors, "ingredients[" + i + "].", validator.validate(ingredients.get(i)));
+        }
+
+        return errors;
+    }
+
+    private static void collectViolations(Map<String, String> errors, String prefix, Set<? extends ConstraintViolation<?>> violations) {
+        violations.forEach(violation -> errors.putIfAbsent(prefix + violation.getPropertyPath(), violation.getMessage()));
+    }
+}
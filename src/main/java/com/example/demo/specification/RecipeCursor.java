@@ -0,0 +1,46 @@
+package com.example.demo.specification;
+
+import com.example.demo.repository.RecipeView;
+import com.example.demo.exception.InvalidCursorException;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record RecipeCursor(String sortBy, Sort.Direction direction, long id, @Nullable String value) {
+    private static final String SEPARATOR = ":";
+
+    public static RecipeCursor of(RecipeView recipe, String sortBy, Sort.Direction direction) {
+        Object value = new BeanWrapperImpl(recipe).getPropertyValue(sortBy);
+
+        return new RecipeCursor(
+                sortBy,
+                direction,
+                recipe.id(),
+                value instanceof Enum<?> e ? e.name() : value != null ? value.toString() : null
+        );
+    }
+
+    public static RecipeCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+
+            return new RecipeCursor(
+                    parts[0],
+                    Sort.Direction.fromString(parts[1]),
+                    Long.parseLong(parts[2]),
+                    parts.length == 4 ? parts[3] : null
+            );
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Malformed cursor '" + token + "'");
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortBy, direction.name(), Long.toString(id)) + (value != null ? SEPARATOR + value : "");
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
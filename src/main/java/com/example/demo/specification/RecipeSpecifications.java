@@ -2,12 +2,34 @@ package com.example.demo.specification;
 
 import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.Recipe;
+import com.example.demo.exception.InvalidCursorException;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
 public class RecipeSpecifications {
+    private static final Set<String> NULLABLE_SORT_FIELDS = Set.of("preparationTime");
+
     private RecipeSpecifications () {}
 
+    public static Specification<Recipe> searchRecipe(String search, SearchStrategy strategy) {
+        return switch (strategy) {
+            case JOIN -> searchRecipe(search);
+            case EXISTS -> searchRecipeWithExists(search);
+            case TRIGRAM -> searchRecipeWithTrigramIndexes(search);
+        };
+    }
+
     public static Specification<Recipe> searchRecipe(String search) {
         return (r, q, cb) -> {
             String like = "%" + search.toLowerCase() + "%";
@@ -30,4 +52,109 @@ public class RecipeSpecifications {
             );
         };
     }
+
+    public static Specification<Recipe> searchRecipeWithExists(String search) {
+        return (r, q, cb) -> {
+            String like = "%" + search.toLowerCase() + "%";
+
+            Subquery<Integer> ingredientMatch = q.subquery(Integer.class);
+            Root<Ingredient> ingredient = ingredientMatch.from(Ingredient.class);
+            ingredientMatch.select(cb.literal(1))
+                    .where(
+                            cb.equal(ingredient.get("recipe"), r),
+                            cb.like(cb.lower(ingredient.get("name")), like)
+                    );
+
+            return cb.or(
+                    cb.like(cb.lower(r.get("name")), like),
+                    cb.like(
+                        cb.lower(
+                            cb.function("TEXT", String.class, r.get("difficulty"))
+                        ),
+                        like
+                    ),
+                    cb.exists(ingredientMatch)
+            );
+        };
+    }
+
+    public static Specification<Recipe> searchRecipeWithTrigramIndexes(String search) {
+        return (r, q, cb) -> {
+            String term = search.toLowerCase();
+            String like = "%" + term + "%";
+
+            Subquery<Long> nameMatch = q.subquery(Long.class);
+            Root<Recipe> recipe = nameMatch.from(Recipe.class);
+            nameMatch.select(recipe.get("id"))
+                    .where(cb.like(cb.lower(recipe.get("name")), like));
+
+            Subquery<Long> ingredientMatch = q.subquery(Long.class);
+            Root<Ingredient> ingredient = ingredientMatch.from(Ingredient.class);
+            ingredientMatch.select(ingredient.get("recipe").get("id"))
+                    .where(cb.like(cb.lower(ingredient.get("name")), like));
+
+            List<Recipe.Difficulty> difficulties = Arrays.stream(Recipe.Difficulty.values())
+                    .filter(difficulty -> difficulty.name().toLowerCase().contains(term))
+                    .toList();
+
+            if (difficulties.isEmpty()) {
+                return r.get("id").in(((HibernateCriteriaBuilder) cb).unionAll(nameMatch, ingredientMatch));
+            }
+
+            Subquery<Long> difficultyMatch = q.subquery(Long.class);
+            Root<Recipe> difficultyRecipe = difficultyMatch.from(Recipe.class);
+            difficultyMatch.select(difficultyRecipe.get("id"))
+                    .where(difficultyRecipe.get("difficulty").in(difficulties));
+
+            return r.get("id").in(((HibernateCriteriaBuilder) cb).unionAll(nameMatch, ingredientMatch, difficultyMatch));
+        };
+    }
+
+    public static Specification<Recipe> seekAfter(RecipeCursor cursor) {
+        return (r, q, cb) -> {
+            Path<Comparable<Object>> key = r.get(cursor.sortBy());
+            Path<Long> id = r.get("id");
+            boolean ascending = cursor.direction().isAscending();
+
+            Predicate nextId = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+
+            if (cursor.value() == null) {
+                Predicate sameKey = cb.and(cb.isNull(key), nextId);
+                return ascending ? sameKey : cb.or(sameKey, cb.isNotNull(key));
+            }
+
+            Comparable<Object> value = parseSortValue(cursor.value(), key.getJavaType());
+
+            Predicate seek = ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(key, value), cb.or(cb.greaterThan(key, value), nextId))
+                    : cb.and(cb.lessThanOrEqualTo(key, value), cb.or(cb.lessThan(key, value), nextId));
+
+            if (ascending && NULLABLE_SORT_FIELDS.contains(cursor.sortBy())) {
+                return cb.or(seek, cb.isNull(key));
+            }
+
+            return seek;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<Object> parseSortValue(String value, Class<?> type) {
+        try {
+            if (type.isEnum()) {
+                return (Comparable<Object>) Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+            if (type == Integer.class) {
+                return (Comparable) Integer.valueOf(value);
+            }
+            if (type == Long.class) {
+                return (Comparable) Long.valueOf(value);
+            }
+            if (type == OffsetDateTime.class) {
+                return (Comparable) OffsetDateTime.parse(value);
+            }
+            return (Comparable) value;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor value '" + value + "'");
+        }
+    }
 }
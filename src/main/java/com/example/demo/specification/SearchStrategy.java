@@ -0,0 +1,5 @@
+package com.example.demo.specification;
+
+public enum SearchStrategy {
+    JOIN, EXISTS, TRIGRAM
+}
@@ -0,0 +1,2 @@
+ALTER SEQUENCE recipe_id_seq INCREMENT BY 50;
+ALTER SEQUENCE ingredient_id_seq INCREMENT BY 50;
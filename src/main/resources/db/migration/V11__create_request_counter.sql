@@ -0,0 +1,5 @@
+CREATE TABLE request_counter (
+    endpoint TEXT PRIMARY KEY,
+    count BIGINT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,4 @@
+CREATE INDEX idx_recipe_name_id ON recipe (name, id);
+CREATE INDEX idx_recipe_difficulty_id ON recipe (difficulty, id);
+CREATE INDEX idx_recipe_preparation_time_id ON recipe (preparation_time, id);
+CREATE INDEX idx_recipe_created_at_id ON recipe (created_at, id);
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_recipe_name_trgm ON recipe USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_ingredient_name_trgm ON ingredient USING gin (lower(name) gin_trgm_ops);
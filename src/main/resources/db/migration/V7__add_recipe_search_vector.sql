@@ -0,0 +1,56 @@
+ALTER TABLE recipe ADD COLUMN search_vector tsvector;
+
+CREATE FUNCTION recipe_search_vector(recipe_name TEXT, recipe_description TEXT, recipe_id BIGINT) RETURNS tsvector
+    LANGUAGE sql STABLE AS $$
+    SELECT setweight(to_tsvector('english', coalesce(recipe_name, '')), 'A')
+        || setweight(to_tsvector('english', coalesce((SELECT string_agg(i.name, ' ') FROM ingredient i WHERE i.recipe_id = $3), '')), 'B')
+        || setweight(to_tsvector('english', coalesce(recipe_description, '')), 'C')
+$$;
+
+CREATE FUNCTION recipe_search_vector_on_recipe_change() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector := recipe_search_vector(NEW.name, NEW.description, NEW.id);
+    RETURN NEW;
+END
+$$;
+
+CREATE FUNCTION recipe_search_vector_on_ingredient_change() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE recipe r SET search_vector = recipe_search_vector(r.name, r.description, r.id)
+        WHERE r.id IN (SELECT recipe_id FROM new_ingredient);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE recipe r SET search_vector = recipe_search_vector(r.name, r.description, r.id)
+        WHERE r.id IN (SELECT recipe_id FROM new_ingredient UNION SELECT recipe_id FROM old_ingredient);
+    ELSE
+        UPDATE recipe r SET search_vector = recipe_search_vector(r.name, r.description, r.id)
+        WHERE r.id IN (SELECT recipe_id FROM old_ingredient);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_recipe_search_vector
+    BEFORE INSERT OR UPDATE OF name, description ON recipe
+    FOR EACH ROW EXECUTE FUNCTION recipe_search_vector_on_recipe_change();
+
+CREATE TRIGGER trg_ingredient_insert_search_vector
+    AFTER INSERT ON ingredient
+    REFERENCING NEW TABLE AS new_ingredient
+    FOR EACH STATEMENT EXECUTE FUNCTION recipe_search_vector_on_ingredient_change();
+
+CREATE TRIGGER trg_ingredient_update_search_vector
+    AFTER UPDATE ON ingredient
+    REFERENCING OLD TABLE AS old_ingredient NEW TABLE AS new_ingredient
+    FOR EACH STATEMENT EXECUTE FUNCTION recipe_search_vector_on_ingredient_change();
+
+CREATE TRIGGER trg_ingredient_delete_search_vector
+    AFTER DELETE ON ingredient
+    REFERENCING OLD TABLE AS old_ingredient
+    FOR EACH STATEMENT EXECUTE FUNCTION recipe_search_vector_on_ingredient_change();
+
+UPDATE recipe SET search_vector = recipe_search_vector(name, description, id);
+
+CREATE INDEX idx_recipe_search_vector ON recipe USING gin (search_vector);
@@ -0,0 +1 @@
+CREATE INDEX idx_ingredient_recipe_id ON ingredient (recipe_id);
@@ -0,0 +1 @@
+ALTER TABLE recipe ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,147 @@
+package com.example.demo.cache;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.Recipe;
+import com.example.demo.exception.RecipeNotFoundException;
+import com.example.demo.models.*;
+import com.example.demo.repository.RecipeRepository;
+import com.example.demo.service.RecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class RecipeCacheIntegrationTest {
+
+    private static final int READERS = 4;
+    private static final int UPDATES = 25;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    private Long recipeId;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+
+        Recipe recipe = Recipe.builder()
+                .name("Curry")
+                .description("Chop onions, fry spices, add vegetables...")
+                .difficulty(Recipe.Difficulty.EASY)
+                .preparationTime(20)
+                .build();
+
+        recipe.setIngredients(List.of(Ingredient.builder()
+                .name("Egg")
+                .quantity(1.0)
+                .unit(Ingredient.Unit.PIECE)
+                .recipe(recipe)
+                .build()));
+
+        recipeId = recipeRepository.save(recipe).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void getRecipe_shouldReturnUpdatedRecipe_afterUpdateCommits() {
+        assertThat(recipeService.getRecipe(recipeId).getName(), equalTo("Curry"));
+
+        recipeService.updateRecipeById(recipeId, updateRequest("Green curry", "Coconut milk"));
+
+        RecipeResponse recipe = recipeService.getRecipe(recipeId);
+        assertThat(recipe.getName(), equalTo("Green curry"));
+        assertThat(recipe.getIngredients().stream().map(IngredientResponse::getName).toList(), contains("Coconut milk"));
+    }
+
+    @Test
+    void getRecipe_shouldThrowException_afterDelete() {
+        recipeService.getRecipe(recipeId);
+
+        recipeService.deleteRecipeById(recipeId);
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipe(recipeId));
+    }
+
+    @Test
+    void getRecipe_shouldKeepCachedRecipe_whenUpdateRollsBack() {
+        recipeService.getRecipe(recipeId);
+
+        RecipeUpdateRequest invalid = updateRequest("Green curry", "Coconut milk");
+        invalid.getIngredients().getFirst().setId(Long.MAX_VALUE);
+
+        assertThrows(RuntimeException.class, () -> recipeService.updateRecipeById(recipeId, invalid));
+
+        assertThat(recipeService.getRecipe(recipeId).getName(), equalTo("Curry"));
+    }
+
+    @Test
+    void getRecipe_shouldNeverServeStaleRecipe_afterUpdateCommits_underConcurrentReads() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> readers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(READERS)) {
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        recipeService.getRecipe(recipeId);
+                    }
+                }));
+            }
+
+            try {
+                for (int i = 0; i < UPDATES; i++) {
+                    String name = "Curry " + i;
+
+                    recipeService.updateRecipeById(recipeId, updateRequest(name, "Egg"));
+
+                    assertThat(recipeService.getRecipe(recipeId).getName(), equalTo(name));
+                }
+            } finally {
+                running.set(false);
+            }
+
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        }
+    }
+
+    private static RecipeUpdateRequest updateRequest(String name, String ingredientName) {
+        RecipeUpdateRequest request = new RecipeUpdateRequest()
+                .name(name)
+                .description("Chop onions, fry spices, add vegetables...")
+                .difficulty(Difficulty.EASY)
+                .preparationTime(20);
+
+        request.setIngredients(new ArrayList<>(List.of(new IngredientUpdateRequest()
+                .name(ingredientName)
+                .quantity(1.0)
+                .unit(Unit.PIECE))));
+
+        return request;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.cache;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.controller.RecipeController;
+import com.example.demo.service.RecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class SearchResultCacheBenchmarkIntegrationTest {
+
+    private static final int RECIPES = 20_000;
+    private static final int INGREDIENTS_PER_RECIPE = 5;
+    private static final int THREADS = 4;
+    private static final long DURATION_MILLIS = 3_000;
+    private static final List<String> POPULAR_SEARCHES = List.of("egg", "tomato", "garlic", "butter", "milk");
+
+    @Autowired
+    private RecipeController recipeController;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+
+        jdbcTemplate.update("""
+                INSERT INTO recipe (name, description, difficulty, preparation_time)
+                SELECT 'Recipe ' || g, repeat('Mix, stir and simmer. ', 10), (ARRAY['EASY','MEDIUM','HARD'])[1 + g % 3]::difficulty, 10 + g % 50
+                FROM generate_series(1, ?) g
+                """, RECIPES);
+
+        jdbcTemplate.update("""
+                INSERT INTO ingredient (name, quantity, unit, recipe_id)
+                SELECT (ARRAY['Egg','Flour','Sugar','Butter','Milk','Salt','Pepper','Garlic','Onion','Tomato'])[1 + (r.id + g) % 10] || ' ' || g,
+                       g, 'G', r.id
+                FROM recipe r CROSS JOIN generate_series(1, ?) g
+                """, INGREDIENTS_PER_RECIPE);
+
+        jdbcTemplate.execute("ANALYZE recipe");
+        jdbcTemplate.execute("ANALYZE ingredient");
+        searchResultCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+        searchResultCache.invalidateAll();
+    }
+
+    @Test
+    void searchResultCache_shouldIncreaseThroughputOfPopularSearches() throws Exception {
+        POPULAR_SEARCHES.forEach(search -> recipeController.searchRecipes(0, 20, search, "like", "name", "asc", null, "exact", "full", null));
+
+        long uncached = throughput(i -> recipeService.searchRecipes(0, 20, search(i), null, "name", "asc", null, "exact", null));
+        long cached = throughput(i -> recipeController.searchRecipes(0, 20, search(i), "like", "name", "asc", null, "exact", "full", null));
+
+        System.out.printf("popular searches over %d s with %d threads: uncached=%d ops, cached=%d ops%n",
+                DURATION_MILLIS / 1000, THREADS, uncached, cached);
+
+        assertThat(cached, greaterThan(uncached));
+    }
+
+    private long throughput(IntConsumer search) throws Exception {
+        List<Future<Long>> workers = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    long operations = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        search.accept((int) operations);
+                        operations++;
+                    }
+                    return operations;
+                }));
+            }
+
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return total;
+        }
+    }
+
+    private static String search(int i) {
+        return POPULAR_SEARCHES.get(i % POPULAR_SEARCHES.size());
+    }
+}
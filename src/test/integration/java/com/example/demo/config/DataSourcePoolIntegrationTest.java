@@ -0,0 +1,133 @@
+package com.example.demo.config;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.zaxxer.hikari.HikariDataSource;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "recipes.datasource.pool-size=2",
+                "spring.datasource.hikari.connection-timeout=2000"
+        }
+)
+@Import(TestcontainersConfiguration.class)
+class DataSourcePoolIntegrationTest {
+
+    private static final int WAITERS = 3;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    private RequestSpecification givenAuthenticated() {
+        return given().baseUri("http://localhost").port(this.port)
+                .auth().preemptive().basic("admin", "password");
+    }
+
+    private double metric(String name, String statistic) {
+        return givenAuthenticated()
+                .when()
+                    .get("/actuator/metrics/{name}", name)
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract().<Number>path("measurements.find { it.statistic == '%s' }.value", statistic)
+                    .doubleValue();
+    }
+
+    @Test
+    void pool_shouldUseConfiguredSize_andSessionSettings() throws SQLException {
+        assertEquals(2, dataSource.getMaximumPoolSize());
+
+        try (Connection connection = dataSource.getConnection();
+             var resultSet = connection.createStatement().executeQuery("SHOW idle_in_transaction_session_timeout")) {
+            resultSet.next();
+            assertEquals("5min", resultSet.getString(1));
+        }
+    }
+
+    @Test
+    void metrics_shouldReflectThreadsWaitingForSaturatedPool() throws Exception {
+        double timeoutsBefore = metric("hikaricp.connections.timeout", "COUNT");
+        double acquisitionsBefore = metric("hikaricp.connections.acquire", "COUNT");
+        List<Connection> held = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            held.add(dataSource.getConnection());
+            held.add(dataSource.getConnection());
+
+            List<Future<Boolean>> waiters = new ArrayList<>();
+
+            for (int i = 0; i < WAITERS; i++) {
+                waiters.add(executor.submit(() -> {
+                    try (Connection ignored = dataSource.getConnection()) {
+                        // holds on to the connection until the other waiters have timed out
+                        Thread.sleep(3_000);
+                        return true;
+                    } catch (SQLTransientConnectionException e) {
+                        return false;
+                    }
+                }));
+            }
+
+            awaitMetric("hikaricp.connections.pending", WAITERS);
+            assertEquals(2, metric("hikaricp.connections.active", "VALUE"));
+            assertEquals(0, metric("hikaricp.connections.idle", "VALUE"));
+
+            Thread.sleep(300);
+            held.removeFirst().close();
+
+            long acquired = 0;
+
+            for (Future<Boolean> waiter : waiters) {
+                if (waiter.get()) {
+                    acquired++;
+                }
+            }
+
+            assertEquals(1, acquired);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        assertEquals(WAITERS - 1, metric("hikaricp.connections.timeout", "COUNT") - timeoutsBefore);
+        assertThat(metric("hikaricp.connections.acquire", "COUNT") - acquisitionsBefore, greaterThanOrEqualTo(3.0));
+        assertThat(metric("hikaricp.connections.acquire", "MAX"), greaterThanOrEqualTo(0.3));
+        assertEquals(0, metric("hikaricp.connections.pending", "VALUE"));
+    }
+
+    private void awaitMetric(String name, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1_000;
+
+        while (metric(name, "VALUE") != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(expected, metric(name, "VALUE"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.controller;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.models.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestcontainersConfiguration.class)
+class RecipeBatchBenchmarkIntegrationTest {
+
+    private static final int RECIPES = 1_000;
+    private static final int INGREDIENTS_PER_RECIPE = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RequestSpecification givenAuthenticated() {
+        return given().baseUri("http://localhost").port(this.port).contentType(ContentType.JSON)
+                .auth().basic("admin", "password");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @Test
+    void batchEndpoint_shouldCreateMoreRecipesPerSecondThanSingleEndpoint() throws Exception {
+        List<RecipeRequest> recipeRequests = IntStream.range(0, RECIPES).mapToObj(this::recipeRequest).toList();
+
+        createOneByOne(recipeRequests.subList(0, 50));
+        createInBatch(recipeRequests.subList(0, 50));
+
+        long singleStart = System.nanoTime();
+        createOneByOne(recipeRequests);
+        double singleRate = RECIPES / ((System.nanoTime() - singleStart) / 1e9);
+
+        long batchStart = System.nanoTime();
+        createInBatch(recipeRequests);
+        double batchRate = RECIPES / ((System.nanoTime() - batchStart) / 1e9);
+
+        System.out.printf("%d recipes with %d ingredients each: single=%.0f recipes/s, batch=%.0f recipes/s%n",
+                RECIPES, INGREDIENTS_PER_RECIPE, singleRate, batchRate);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM recipe", Long.class), equalTo(2L * RECIPES + 100));
+        assertThat(batchRate, greaterThan(singleRate));
+    }
+
+    private void createOneByOne(List<RecipeRequest> recipeRequests) throws Exception {
+        for (RecipeRequest recipeRequest : recipeRequests) {
+            givenAuthenticated()
+                    .body(objectMapper.writeValueAsString(recipeRequest))
+                .when()
+                    .post("/recipe")
+                .then()
+                    .statusCode(HttpStatus.CREATED.value());
+        }
+    }
+
+    private void createInBatch(List<RecipeRequest> recipeRequests) throws Exception {
+        givenAuthenticated()
+                .body(objectMapper.writeValueAsString(recipeRequests))
+            .when()
+                .post("/recipe/batch")
+            .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .body("ids", hasSize(recipeRequests.size()));
+    }
+
+    private RecipeRequest recipeRequest(int i) {
+        return new RecipeRequest()
+                .name("Recipe " + i)
+                .description("Mix, stir and simmer. ".repeat(10))
+                .difficulty(Difficulty.values()[i % 3])
+                .preparationTime(10 + i % 50)
+                .ingredients(IntStream.range(0, INGREDIENTS_PER_RECIPE)
+                        .mapToObj(j -> new IngredientRequest().name("Ingredient " + j).quantity(1.0 + j).unit(Unit.G))
+                        .toList());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.controller;
 
 import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.cache.SearchResultCache;
 import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.Recipe;
 import com.example.demo.models.*;
@@ -19,8 +20,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
@@ -31,12 +37,20 @@ import static org.hamcrest.Matchers.*;
 @Import(TestcontainersConfiguration.class)
 class RecipeControllerIntegrationTest {
 
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
     @LocalServerPort
     private int port;
 
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Recipe savedRecipe;
 
     private RequestSpecification givenAuthenticated() {
@@ -47,6 +61,7 @@ class RecipeControllerIntegrationTest {
     @BeforeEach
     void setUp() {
         recipeRepository.deleteAll();
+        searchResultCache.invalidateAll();
 
         Recipe recipe = Recipe.builder()
                 .name("Curry")
@@ -131,6 +146,240 @@ class RecipeControllerIntegrationTest {
         assertThat(recipeRepository.findAll().size(), equalTo(2));
     }
 
+    @Test
+    void createRecipes_shouldCreateAllRecipes() throws JsonProcessingException {
+        List<RecipeRequest> recipeRequests = List.of(
+                new RecipeRequest()
+                        .name("Pancakes")
+                        .description("Mix and fry...")
+                        .difficulty(Difficulty.EASY)
+                        .preparationTime(20)
+                        .ingredients(List.of(
+                                new IngredientRequest().name("Milk").quantity(200.0).unit(Unit.ML),
+                                new IngredientRequest().name("Flour").quantity(150.0).unit(Unit.G))),
+                new RecipeRequest()
+                        .name("Omelette")
+                        .description("Whisk and fry...")
+                        .difficulty(Difficulty.MEDIUM)
+                        .preparationTime(10)
+                        .ingredients(List.of(new IngredientRequest().name("Egg").quantity(3.0).unit(Unit.PIECE))));
+
+        List<Integer> ids = givenAuthenticated()
+                .body(new ObjectMapper().writeValueAsString(recipeRequests))
+            .when()
+                .post("/recipe/batch")
+            .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .body("ids", hasSize(2))
+                .extract().path("ids");
+
+        givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", ids.get(1))
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo("Omelette"))
+                .body("ingredients", hasSize(1));
+
+        assertThat(recipeRepository.findAll().size(), equalTo(4));
+    }
+
+    @Test
+    void createRecipes_shouldReportErrorsPerItem_andCreateNothing() throws JsonProcessingException {
+        IngredientRequest validIngredient = new IngredientRequest().name("Milk").quantity(200.0).unit(Unit.ML);
+
+        List<RecipeRequest> recipeRequests = List.of(
+                new RecipeRequest()
+                        .name("Pancakes")
+                        .description("Mix and fry...")
+                        .difficulty(Difficulty.EASY)
+                        .preparationTime(20)
+                        .ingredients(List.of(validIngredient)),
+                new RecipeRequest()
+                        .name("")
+                        .description("Mix and fry...")
+                        .difficulty(Difficulty.EASY)
+                        .preparationTime(20)
+                        .ingredients(List.of(validIngredient)),
+                new RecipeRequest()
+                        .name("Waffles")
+                        .description("Mix and bake...")
+                        .difficulty(Difficulty.EASY)
+                        .preparationTime(0)
+                        .ingredients(List.of(new IngredientRequest().name("Flour").quantity(-1.0).unit(Unit.G))));
+
+        givenAuthenticated()
+                .body(new ObjectMapper().writeValueAsString(recipeRequests))
+            .when()
+                .post("/recipe/batch")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("details", aMapWithSize(3))
+                .body("details.'[1].name'", equalTo("Recipe name must not be empty"))
+                .body("details.'[2].preparationTime'", notNullValue())
+                .body("details.'[2].ingredients[0].quantity'", notNullValue());
+
+        assertThat(recipeRepository.findAll().size(), equalTo(2));
+    }
+
+    @Test
+    void createRecipes_shouldReportMissingFieldsPerItem() throws JsonProcessingException {
+        List<RecipeRequest> recipeRequests = List.of(new RecipeRequest()
+                .name("Pancakes")
+                .description("Mix and fry...")
+                .preparationTime(20)
+                .ingredients(List.of(new IngredientRequest().name("Milk").quantity(200.0).unit(Unit.ML))));
+
+        givenAuthenticated()
+                .body(new ObjectMapper().writeValueAsString(recipeRequests))
+            .when()
+                .post("/recipe/batch")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("details.'createRecipes.recipeRequest[0].difficulty'", notNullValue());
+    }
+
+    @Test
+    void exportRecipes_shouldStreamEveryRecipeWithIngredientsAsNdjson() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        String body = givenAuthenticated()
+            .when()
+                .get("/recipe/export")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        List<String> lines = body.lines().toList();
+
+        assertThat(body, endsWith("\n"));
+        assertThat(lines, hasSize(2));
+        assertThat(objectMapper.readTree(lines.get(0)).get("id").asLong(), equalTo(savedRecipe.getId()));
+        assertThat(objectMapper.readTree(lines.get(0)).get("name").asText(), equalTo("Curry"));
+        assertThat(objectMapper.readTree(lines.get(0)).at("/ingredients/0/name").asText(), equalTo("Egg"));
+        assertThat(objectMapper.readTree(lines.get(1)).get("name").asText(), equalTo("Salad"));
+        assertThat(objectMapper.readTree(lines.get(1)).at("/ingredients/0/name").asText(), equalTo("Cabbage"));
+    }
+
+    @Test
+    void importRecipes_shouldImportValidLines_andReportRejectedOnes() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        RecipeRequest pancakes = new RecipeRequest()
+                .name("Pancakes")
+                .description("Mix\tstir\nfry \\ serve")
+                .difficulty(Difficulty.EASY)
+                .preparationTime(20)
+                .ingredients(List.of(
+                        new IngredientRequest().name("Milk").quantity(200.0).unit(Unit.ML),
+                        new IngredientRequest().name("Flour").quantity(150.0).unit(Unit.G)));
+
+        RecipeRequest unnamed = new RecipeRequest()
+                .name("")
+                .description("Whisk and fry...")
+                .difficulty(Difficulty.EASY)
+                .preparationTime(10)
+                .ingredients(List.of(new IngredientRequest().name("Egg").quantity(3.0).unit(Unit.PIECE)));
+
+        String body = String.join("\n",
+                objectMapper.writeValueAsString(pancakes),
+                "{not json",
+                objectMapper.writeValueAsString(unnamed),
+                "",
+                objectMapper.writeValueAsString(unnamed.name("Omelette")));
+
+        given().baseUri("http://localhost").port(this.port).contentType("application/x-ndjson")
+                .auth().preemptive().basic("admin", "password")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+            .when()
+                .post("/recipe/import")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("imported", equalTo(2))
+                .body("rejected", equalTo(2))
+                .body("errors.line", contains(2, 3))
+                .body("errors[1].message", containsString("Recipe name must not be empty"));
+
+        Recipe imported = recipeRepository.findAll().stream()
+                .filter(recipe -> recipe.getName().equals("Pancakes"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(imported.getDescription(), equalTo("Mix\tstir\nfry \\ serve"));
+
+        givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", imported.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("ingredients.name", contains("Milk", "Flour"));
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("search", "flour")
+                .param("searchMode", "fulltext")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content.name", contains("Pancakes"));
+
+        assertThat(recipeRepository.findAll().size(), equalTo(4));
+    }
+
+    @Test
+    void importRecipes_shouldTakeIdsInBlocksOfFifty() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long recipeSequence = jdbcTemplate.queryForObject("SELECT last_value FROM recipe_id_seq", Long.class);
+        long ingredientSequence = jdbcTemplate.queryForObject("SELECT last_value FROM ingredient_id_seq", Long.class);
+
+        String body = IntStream.range(0, 60)
+                .mapToObj(i -> new RecipeRequest()
+                        .name("Imported " + i)
+                        .description("Mix everything together...")
+                        .difficulty(Difficulty.EASY)
+                        .preparationTime(10)
+                        .ingredients(List.of(
+                                new IngredientRequest().name("Milk").quantity(200.0).unit(Unit.ML),
+                                new IngredientRequest().name("Flour").quantity(150.0).unit(Unit.G))))
+                .map(recipeRequest -> {
+                    try {
+                        return objectMapper.writeValueAsString(recipeRequest);
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .collect(Collectors.joining("\n"));
+
+        given().baseUri("http://localhost").port(this.port).contentType("application/x-ndjson")
+                .auth().preemptive().basic("admin", "password")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+            .when()
+                .post("/recipe/import")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("imported", equalTo(60));
+
+        List<Long> recipeIds = jdbcTemplate.queryForList(
+                "SELECT id FROM recipe WHERE name LIKE 'Imported %' ORDER BY substring(name FROM 10)::int", Long.class);
+        List<Long> ingredientIds = jdbcTemplate.queryForList(
+                "SELECT i.id FROM ingredient i JOIN recipe r ON r.id = i.recipe_id WHERE r.name LIKE 'Imported %' ORDER BY i.id", Long.class);
+
+        assertContiguous(recipeIds.subList(0, 50));
+        assertContiguous(recipeIds.subList(50, 60));
+        assertContiguous(ingredientIds.subList(0, 50));
+        assertContiguous(ingredientIds.subList(50, 100));
+        assertContiguous(ingredientIds.subList(100, 120));
+        assertThat(jdbcTemplate.queryForObject("SELECT last_value FROM recipe_id_seq", Long.class), equalTo(recipeSequence + 2 * 50));
+        assertThat(jdbcTemplate.queryForObject("SELECT last_value FROM ingredient_id_seq", Long.class), equalTo(ingredientSequence + 3 * 50));
+    }
+
+    private static void assertContiguous(List<Long> ids) {
+        assertThat(ids, equalTo(LongStream.range(ids.getFirst(), ids.getFirst() + ids.size()).boxed().toList()));
+    }
+
     @Test
     void deleteRecipe_shouldDeleteRecipe() {
         givenAuthenticated()
@@ -153,6 +402,112 @@ class RecipeControllerIntegrationTest {
         assertThat(recipeRepository.findAll().size(), equalTo(2));
     }
 
+    @Test
+    void deleteRecipe_shouldEvictCachedRecipe() {
+        String eTag = givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+
+        givenAuthenticated()
+            .when()
+                .delete("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value());
+
+        givenAuthenticated()
+                .header("If-None-Match", eTag)
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+
+        givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void deleteRecipes_shouldDeleteExistingRecipes_andIgnoreUnknownIds() {
+        Long otherId = recipeRepository.findAll().stream().map(Recipe::getId)
+                .filter(id -> !id.equals(savedRecipe.getId())).findFirst().orElseThrow();
+        Long unknownId = Math.max(savedRecipe.getId(), otherId) + 100;
+
+        givenAuthenticated()
+                .param("ids", otherId + "," + unknownId + "," + savedRecipe.getId())
+            .when()
+                .delete("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("ids", contains(
+                        (int) Math.min(savedRecipe.getId(), otherId),
+                        (int) Math.max(savedRecipe.getId(), otherId)));
+
+        assertThat(recipeRepository.count(), equalTo(0L));
+    }
+
+    @Test
+    void deleteRecipes_shouldReturnBadRequest_whenIdsAreMissing() {
+        givenAuthenticated()
+            .when()
+                .delete("/recipe")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        assertThat(recipeRepository.count(), equalTo(2L));
+    }
+
+    @Test
+    void searchRecipes_shouldNotServeCachedPage_afterRecipesAreBulkDeleted() {
+        String eTag = givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content", hasSize(2))
+                .extract().header("ETag");
+
+        String recipeETag = givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+
+        givenAuthenticated()
+                .param("ids", savedRecipe.getId())
+            .when()
+                .delete("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("ids", contains(savedRecipe.getId().intValue()));
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .header("If-None-Match", eTag)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(eTag)))
+                .body("content", hasSize(1))
+                .body("content[0].name", equalTo("Salad"));
+
+        givenAuthenticated()
+                .header("If-None-Match", recipeETag)
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
     @Test
     void getRecipe_shouldReturnRecipe() {
         givenAuthenticated()
@@ -163,6 +518,63 @@ class RecipeControllerIntegrationTest {
                 .body("name", equalTo(savedRecipe.getName()));
     }
 
+    @Test
+    void getRecipe_shouldReturnNotModified_whenETagMatches() {
+        String eTag = givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", notNullValue())
+                .extract().header("ETag");
+
+        givenAuthenticated()
+                .header("If-None-Match", eTag)
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header("ETag", equalTo(eTag))
+                .body(emptyString());
+    }
+
+    @Test
+    void getRecipe_shouldReturnNewETag_afterOnlyIngredientsChange() throws JsonProcessingException {
+        String eTag = givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .extract().header("ETag");
+
+        RecipeUpdateRequest recipeUpdateRequest = new RecipeUpdateRequest()
+                .name(savedRecipe.getName())
+                .description(savedRecipe.getDescription())
+                .difficulty(Difficulty.EASY)
+                .preparationTime(savedRecipe.getPreparationTime())
+                .ingredients(List.of(new IngredientUpdateRequest()
+                        .id(savedRecipe.getIngredients().getFirst().getId())
+                        .name("Egg")
+                        .quantity(2.0)
+                        .unit(Unit.G)));
+
+        givenAuthenticated()
+                .body(new ObjectMapper().writeValueAsString(recipeUpdateRequest))
+            .when()
+                .put("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("version", equalTo(savedRecipe.getVersion().intValue() + 1));
+
+        givenAuthenticated()
+                .header("If-None-Match", eTag)
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(eTag)))
+                .body("ingredients[0].quantity", equalTo(2.0f));
+    }
+
     @Test
     void getRecipe_shouldReturnNotFound_whenRecipeDoesNotExist() {
         givenAuthenticated()
@@ -201,6 +613,294 @@ class RecipeControllerIntegrationTest {
                 .body("totalElements", equalTo(1));
     }
 
+    @Test
+    void searchRecipes_shouldOrderFullTextResultsByRelevance() {
+        Recipe recipe = Recipe.builder()
+                .name("Cabbage rolls")
+                .description("Roll the filling in cabbage leaves...")
+                .difficulty(Recipe.Difficulty.MEDIUM)
+                .preparationTime(40)
+                .build();
+
+        recipe.setIngredients(List.of(Ingredient.builder()
+                .name("Cabbage")
+                .quantity(1.0)
+                .unit(Ingredient.Unit.PIECE)
+                .recipe(recipe)
+                .build()));
+
+        recipeRepository.save(recipe);
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("search", "cabbages")
+                .param("searchMode", "fulltext")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("totalElements", equalTo(2))
+                .body("content.name", contains("Cabbage rolls", "Salad"));
+    }
+
+    @Test
+    void searchRecipes_shouldMatchDescriptionWords_whenSearchModeIsFulltext() {
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("search", "fried onion")
+                .param("searchMode", "fulltext")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("totalElements", equalTo(1))
+                .body("content[0].name", equalTo("Curry"))
+                .body("content[0].ingredients", hasSize(1));
+    }
+
+    @Test
+    void searchRecipes_shouldFindUpdatedIngredients_whenSearchModeIsFulltext() throws JsonProcessingException {
+        RecipeUpdateRequest recipeUpdateRequest = new RecipeUpdateRequest()
+                .name("Curry")
+                .description("Chop onions, fry spices, add vegetables...")
+                .difficulty(Difficulty.EASY)
+                .preparationTime(20)
+                .ingredients(List.of(new IngredientUpdateRequest()
+                        .name("Chickpeas")
+                        .quantity(400.0)
+                        .unit(Unit.G)));
+
+        givenAuthenticated()
+                .body(new ObjectMapper().writeValueAsString(recipeUpdateRequest))
+            .when()
+                .put("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value());
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("search", "chickpea")
+                .param("searchMode", "fulltext")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content.name", contains("Curry"));
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("search", "egg")
+                .param("searchMode", "fulltext")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("totalElements", equalTo(0));
+    }
+
+    @Test
+    void searchRecipes_shouldReturnNextPageWithCursor_withoutTotals() {
+        String nextCursor = givenAuthenticated()
+                .param("page", 0)
+                .param("size", 1)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content[0].name", equalTo("Curry"))
+                .body("nextCursor", not(emptyOrNullString()))
+                .extract()
+                .path("nextCursor");
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 1)
+                .param("after", nextCursor)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content[0].name", equalTo("Salad"))
+                .body("totalElements", nullValue())
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    void searchRecipes_shouldReturnBadRequest_whenCursorIsMalformed() {
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("after", "not-a-cursor")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void searchRecipes_shouldReturnBadRequest_whenCursorWasIssuedForDifferentSort() {
+        String nextCursor = givenAuthenticated()
+                .param("page", 0)
+                .param("size", 1)
+            .when()
+                .get("/recipe")
+            .then()
+                .extract()
+                .path("nextCursor");
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 1)
+                .param("direction", "desc")
+                .param("after", nextCursor)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void searchRecipes_shouldOmitTotals_whenCountIsNone() {
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 1)
+                .param("count", "none")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content", hasSize(1))
+                .body("hasNext", equalTo(true))
+                .body("totalElements", nullValue())
+                .body("totalPages", nullValue());
+    }
+
+    @Test
+    void searchRecipes_shouldReturnTotals_whenCountIsEstimate() {
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("count", "estimate")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("totalElements", equalTo(2))
+                .body("hasNext", equalTo(false));
+    }
+
+    @Test
+    void searchRecipes_shouldOmitDescriptionAndIngredients_whenViewIsSummary() {
+        String fullETag = givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content.description", everyItem(notNullValue()))
+                .body("content.ingredients", everyItem(not(empty())))
+                .extract().header("ETag");
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("view", "summary")
+                .header("If-None-Match", fullETag)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(fullETag)))
+                .body("totalElements", equalTo(2))
+                .body("content.name", everyItem(notNullValue()))
+                .body("content.version", everyItem(notNullValue()))
+                .body("content", everyItem(not(hasKey("description"))))
+                .body("content", everyItem(not(hasKey("ingredients"))));
+    }
+
+    @Test
+    void searchRecipes_shouldNotServeCachedPage_afterRecipeIsCreated() throws JsonProcessingException {
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("search", "cabbage")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("totalElements", equalTo(1));
+
+        RecipeRequest recipeRequest = new RecipeRequest()
+                .name("Cabbage soup")
+                .description("Simmer everything...")
+                .difficulty(Difficulty.EASY)
+                .preparationTime(30)
+                .ingredients(List.of(new IngredientRequest().name("Cabbage").quantity(1.0).unit(Unit.PIECE)));
+
+        givenAuthenticated()
+                .body(new ObjectMapper().writeValueAsString(recipeRequest))
+            .when()
+                .post("/recipe")
+            .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("search", " CABBAGE ")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("totalElements", equalTo(2));
+    }
+
+    @Test
+    void searchRecipes_shouldReturnNotModified_untilRecipeOnPageIsDeleted() {
+        String eTag = givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+
+        assertThat(eTag, matchesPattern("\"page-[0-9a-f]{64}\""));
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .header("If-None-Match", eTag)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .body(emptyString());
+
+        givenAuthenticated()
+            .when()
+                .delete("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value());
+
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .header("If-None-Match", eTag)
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(eTag)))
+                .body("content", hasSize(1));
+    }
+
     @Test
     void searchRecipes_shouldReturnBadRequest_whenPageNumberIsNotProvided() {
         givenAuthenticated()
@@ -211,6 +911,19 @@ class RecipeControllerIntegrationTest {
                 .statusCode(HttpStatus.BAD_REQUEST.value());
     }
 
+    @Test
+    void searchRecipes_shouldReturnBadRequest_whenSortFieldIsNotSupported() {
+        givenAuthenticated()
+                .param("page", 0)
+                .param("size", 10)
+                .param("sortBy", "description")
+            .when()
+                .get("/recipe")
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("message", containsString("description"));
+    }
+
     @Test
     void searchRecipes_shouldReturnSortedDesc() {
         givenAuthenticated()
@@ -347,6 +1060,109 @@ class RecipeControllerIntegrationTest {
                 .statusCode(HttpStatus.BAD_REQUEST.value());
     }
 
+    @Test
+    void patchRecipe_shouldUpdateOnlyGivenMembers_andReturnNewETag() {
+        String eTag = givenAuthenticated()
+                .contentType(MERGE_PATCH)
+                .body("""
+                        {"name": "Green curry", "preparationTime": null}
+                        """)
+            .when()
+                .patch("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.NO_CONTENT.value())
+                .header("ETag", equalTo("\"" + savedRecipe.getId() + "-" + (savedRecipe.getVersion() + 1) + "\""))
+                .extract().header("ETag");
+
+        givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", equalTo(eTag))
+                .body("name", equalTo("Green curry"))
+                .body("description", equalTo(savedRecipe.getDescription()))
+                .body("difficulty", equalTo("EASY"))
+                .body("preparationTime", nullValue())
+                .body("ingredients", hasSize(1))
+                .body("ingredients[0].name", equalTo("Egg"));
+    }
+
+    @Test
+    void patchRecipe_shouldReplaceIngredients_whenPatchContainsThem() {
+        givenAuthenticated()
+                .contentType(MERGE_PATCH)
+                .body("""
+                        {"ingredients": [{"name": "Rice", "quantity": 100.0, "unit": "G"}]}
+                        """)
+            .when()
+                .patch("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo("Curry"))
+                .body("version", equalTo(savedRecipe.getVersion().intValue() + 1))
+                .body("ingredients", hasSize(1))
+                .body("ingredients[0].name", equalTo("Rice"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidRecipePatches")
+    void patchRecipe_shouldReturnBadRequest_forInvalidPatch(String patch) {
+        givenAuthenticated()
+                .contentType(MERGE_PATCH)
+                .body(patch)
+            .when()
+                .patch("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        assertThat(recipeRepository.findVersionById(savedRecipe.getId()).orElseThrow(), equalTo(savedRecipe.getVersion()));
+    }
+
+    @Test
+    void patchRecipe_shouldReturnNotFound_whenRecipeDoesNotExist() {
+        givenAuthenticated()
+                .contentType(MERGE_PATCH)
+                .body("""
+                        {"name": "Green curry"}
+                        """)
+            .when()
+                .patch("/recipe/{recipeId}", savedRecipe.getId() + 100)
+            .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void patchRecipe_shouldReturnUnsupportedMediaType_forPlainJson() {
+        givenAuthenticated()
+                .body("""
+                        {"name": "Green curry"}
+                        """)
+            .when()
+                .patch("/recipe/{recipeId}", savedRecipe.getId())
+            .then()
+                .statusCode(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+    }
+
+    static Stream<String> invalidRecipePatches() {
+        return Stream.of(
+                "{\"name\": null}",
+                "{\"name\": \" \"}",
+                "{\"description\": null}",
+                "{\"difficulty\": null}",
+                "{\"preparationTime\": 0}",
+                "{\"ingredients\": null}",
+                "{\"ingredients\": []}",
+                "{\"ingredients\": [{\"name\": \"Rice\", \"quantity\": 0.0, \"unit\": \"G\"}]}"
+        );
+    }
+
     static Stream<RecipeRequest> invalidRecipeRequests() {
         IngredientRequest validIngredient = new IngredientRequest()
                 .name("Milk")
@@ -0,0 +1,171 @@
+package com.example.demo.controller;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.cache.SearchResultCache;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.Recipe;
+import com.example.demo.repository.RecipeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads run with open-session-in-view disabled, so everything a response needs must be fetched inside the service.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestcontainersConfiguration.class)
+class RecipeReadTransactionIntegrationTest {
+
+    private static final int RECIPES = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Long> recipeIds;
+
+    private RequestSpecification givenAuthenticated() {
+        return given().baseUri("http://localhost").port(this.port).contentType(ContentType.JSON)
+                .auth().preemptive().basic("admin", "password");
+    }
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        searchResultCache.invalidateAll();
+
+        recipeIds = recipeRepository.saveAll(IntStream.range(0, RECIPES).mapToObj(i -> {
+            Recipe recipe = Recipe.builder()
+                    .name("Curry " + i)
+                    .description("Chop onions, fry spices, add vegetables...")
+                    .difficulty(Recipe.Difficulty.EASY)
+                    .preparationTime(20)
+                    .build();
+
+            recipe.setIngredients(List.of(
+                    Ingredient.builder().name("Egg").quantity(1.0).unit(Ingredient.Unit.PIECE).recipe(recipe).build(),
+                    Ingredient.builder().name("Rice").quantity(200.0).unit(Ingredient.Unit.G).recipe(recipe).build()));
+
+            return recipe;
+        }).toList()).stream().map(Recipe::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void openInView_shouldBeDisabled() {
+        assertThat(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).keySet(), empty());
+    }
+
+    @Test
+    void getRecipe_shouldRenderIngredients_withoutOpenSession() {
+        givenAuthenticated()
+            .when()
+                .get("/recipe/{recipeId}", recipeIds.getFirst())
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("ingredients.name", contains("Egg", "Rice"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "count=none", "count=estimate", "after=", "search=curry", "search=curry&searchMode=fulltext"})
+    void searchRecipes_shouldRenderIngredients_withoutOpenSession(String query) {
+        givenAuthenticated()
+            .when()
+                .get("/recipe?page=0&size=5&" + query)
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("content", hasSize(5))
+                .body("content.ingredients.flatten().name", everyItem(oneOf("Egg", "Rice")))
+                .body("content.ingredients.flatten()", hasSize(10));
+    }
+
+    @Test
+    void exportRecipes_shouldRenderIngredients_withoutOpenSession() {
+        String body = givenAuthenticated()
+            .when()
+                .get("/recipe/export")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().asString();
+
+        assertEquals(RECIPES, body.lines().filter(line -> line.contains("\"Rice\"")).count());
+    }
+
+    @Test
+    void readQueries_shouldLoadReadOnlyEntities_soNoSnapshotsAreKept() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            Recipe recipe = recipeRepository.findWithIngredientsById(recipeIds.getFirst()).orElseThrow();
+            List<Ingredient> ingredients = recipeRepository.findIngredientsByRecipeIdIn(recipeIds.subList(1, 3));
+
+            assertTrue(session.isReadOnly(recipe));
+            assertTrue(recipe.getIngredients().stream().allMatch(session::isReadOnly));
+            assertTrue(ingredients.stream().allMatch(session::isReadOnly));
+        });
+    }
+
+    @Test
+    void reads_shouldHoldOneConnectionPerRequest_onlyWhileQuerying() {
+        Timer usage = meterRegistry.get("hikaricp.connections.usage").timer();
+        long usagesBefore = usage.count();
+        double heldBefore = usage.totalTime(TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+
+        for (Long recipeId : recipeIds) {
+            givenAuthenticated().when().get("/recipe/{recipeId}", recipeId).then().statusCode(HttpStatus.OK.value());
+        }
+
+        double requestMillis = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / 1000.0 / RECIPES;
+        double heldMillis = (usage.totalTime(TimeUnit.MILLISECONDS) - heldBefore) / RECIPES;
+
+        assertEquals(RECIPES, usage.count() - usagesBefore);
+        assertThat(heldMillis, lessThan(requestMillis));
+    }
+}
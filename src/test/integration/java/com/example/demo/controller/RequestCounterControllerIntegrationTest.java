@@ -44,4 +44,38 @@ class RequestCounterControllerIntegrationTest {
                 .statusCode(HttpStatus.OK.value())
                 .body(equalTo("1"));
     }
+
+    @Test
+    void shouldReturnRequestMetricsPerEndpointAndStatusClass() {
+        givenAuthenticated().when().get("/recipe/{recipeId}", Long.MAX_VALUE).then().statusCode(HttpStatus.NOT_FOUND.value());
+        givenAuthenticated().when().get("/request/count").then().statusCode(HttpStatus.OK.value());
+
+        givenAuthenticated()
+            .when()
+                .get("/request/metrics")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("total", equalTo(3))
+                .body("inFlight", equalTo(1))
+                .body("statusClasses.4xx", equalTo(1))
+                .body("statusClasses.2xx", equalTo(1))
+                .body("endpoints", hasEntry("GET /recipe/{recipeId}", 1))
+                .body("endpoints", hasEntry("GET /request/count", 1));
+    }
+
+    @Test
+    void shouldReturnLatencyStatsPerRouteTemplate() {
+        givenAuthenticated().when().get("/recipe/{recipeId}", Long.MAX_VALUE).then().statusCode(HttpStatus.NOT_FOUND.value());
+        givenAuthenticated().when().get("/recipe/{recipeId}", Long.MAX_VALUE - 1).then().statusCode(HttpStatus.NOT_FOUND.value());
+
+        givenAuthenticated()
+            .when()
+                .get("/request/stats")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("windowSeconds", equalTo(60))
+                .body("endpoints.find { it.endpoint == 'GET /recipe/{recipeId}' }.count", equalTo(2))
+                .body("endpoints.find { it.endpoint == 'GET /recipe/{recipeId}' }.p99", greaterThan(0f))
+                .body("endpoints.endpoint", not(hasItem(containsString(String.valueOf(Long.MAX_VALUE)))));
+    }
 }
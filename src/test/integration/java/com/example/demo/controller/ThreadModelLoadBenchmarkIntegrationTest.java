@@ -0,0 +1,158 @@
+package com.example.demo.controller;
+
+import com.example.demo.RecipesDemoApplication;
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.filter.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Runs the same search load against the application with platform and with virtual request threads.
+ */
+@Tag("benchmark")
+class ThreadModelLoadBenchmarkIntegrationTest {
+
+    private static final int RECIPES = 1_000;
+    private static final int CLIENTS = 2_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @Test
+    void virtualThreads_shouldServeTwoThousandConcurrentClients() throws Exception {
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        System.out.printf("%d clients, platform threads: %s%n", CLIENTS, platform);
+        System.out.printf("%d clients, virtual threads:  %s%n", CLIENTS, virtual);
+
+        assertThat(platform.requests(), greaterThan(0L));
+        assertThat(virtual.requests(), greaterThan(0L));
+        assertThat(virtual.errors(), equalTo(0L));
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RecipesDemoApplication.class, TestcontainersConfiguration.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "recipes.cache.search.enabled=false")
+                .run()) {
+            seed(context.getBean(JdbcTemplate.class));
+
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+
+            runClients(port, WARMUP);
+            return runClients(port, MEASUREMENT);
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+
+        jdbcTemplate.update("""
+                INSERT INTO recipe (name, description, difficulty, preparation_time)
+                SELECT (ARRAY['Curry','Salad','Soup','Stew'])[1 + g % 4] || ' ' || g, repeat('Mix, stir and simmer. ', 10), 'EASY', 10 + g % 50
+                FROM generate_series(1, ?) g
+                """, RECIPES);
+
+        jdbcTemplate.update("""
+                INSERT INTO ingredient (name, quantity, unit, recipe_id)
+                SELECT 'Ingredient ' || g, g, 'G', r.id
+                FROM recipe r CROSS JOIN generate_series(1, 3) g
+                """);
+    }
+
+    private static LoadResult runClients(int port, Duration duration) throws Exception {
+        String authorization = "Bearer " + accessToken(port);
+        LatencyHistogram latency = new LatencyHistogram(TimeUnit.HOURS.toNanos(1), 1);
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(30)).build()) {
+            List<Future<?>> clients = new ArrayList<>();
+
+            for (int i = 0; i < CLIENTS; i++) {
+                int page = i % 20;
+
+                clients.add(executor.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/recipe?size=10&search=curry&page=" + page))
+                            .header("Authorization", authorization)
+                            .timeout(Duration.ofSeconds(60))
+                            .build();
+
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+
+                        long end = System.nanoTime();
+                        latency.record(TimeUnit.NANOSECONDS.toMicros(end - start), end);
+                        requests.increment();
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : clients) {
+                future.get();
+            }
+        }
+
+        return new LoadResult(requests.sum(), errors.sum(), duration, latency.snapshot(System.nanoTime()));
+    }
+
+    // A bearer token keeps the password hash check, which is deliberately slow, out of the measured requests.
+    private static String accessToken(int port) throws Exception {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/token"))
+                    .header("Authorization", "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8)))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+
+            return new ObjectMapper().readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body()).get("accessToken").asText();
+        }
+    }
+
+    private record LoadResult(long requests, long errors, Duration duration, LatencyHistogram.Snapshot latency) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, %d errors, p50=%d ms, p99=%d ms, max=%d ms",
+                    requests / (double) duration.toSeconds(), errors,
+                    latency.p50() / 1000, latency.p99() / 1000, latency.max() / 1000);
+        }
+    }
+}
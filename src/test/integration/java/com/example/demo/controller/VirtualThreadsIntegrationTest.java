@@ -0,0 +1,143 @@
+package com.example.demo.controller;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.cache.SearchResultCache;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.Recipe;
+import com.example.demo.repository.RecipeRepository;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true"
+)
+@Import(TestcontainersConfiguration.class)
+class VirtualThreadsIntegrationTest {
+
+    private static final int RECIPES = 50;
+    private static final int CLIENTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    private List<Long> recipeIds;
+
+    private RequestSpecification givenAuthenticated() {
+        return given().baseUri("http://localhost").port(this.port).contentType(ContentType.JSON)
+                .auth().preemptive().basic("admin", "password");
+    }
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        searchResultCache.invalidateAll();
+
+        recipeIds = recipeRepository.saveAll(IntStream.range(0, RECIPES).mapToObj(i -> {
+            Recipe recipe = Recipe.builder()
+                    .name("Curry " + i)
+                    .description("Chop onions, fry spices, add vegetables...")
+                    .difficulty(Recipe.Difficulty.EASY)
+                    .preparationTime(20)
+                    .build();
+
+            recipe.setIngredients(List.of(Ingredient.builder()
+                    .name("Egg")
+                    .quantity(1.0)
+                    .unit(Ingredient.Unit.PIECE)
+                    .recipe(recipe)
+                    .build()));
+
+            return recipe;
+        }).toList()).stream().map(Recipe::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void tomcat_shouldHandleRequestsOnVirtualThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) applicationContext.getWebServer();
+
+        assertThat(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor(),
+                instanceOf(VirtualThreadExecutor.class));
+    }
+
+    @Test
+    void requests_shouldNotPinCarrierThreads_whileWaitingOnDatabase() throws Exception {
+        ConcurrentLinkedQueue<String> pinned = new ConcurrentLinkedQueue<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.add(event.getStackTrace().getFrames().stream()
+                    .map(RecordedFrame::getMethod)
+                    .map(method -> method.getType().getName() + "." + method.getName())
+                    .collect(Collectors.joining("\n  ", "pinned at\n  ", ""))));
+            recording.startAsync();
+
+            List<Future<?>> clients = new ArrayList<>();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTS; i++) {
+                    Long recipeId = recipeIds.get(i % RECIPES);
+                    int page = i % 5;
+
+                    clients.add(executor.submit(() -> {
+                        givenAuthenticated().when().get("/recipe/{recipeId}", recipeId).then().statusCode(HttpStatus.OK.value());
+                        givenAuthenticated().param("page", page).param("size", 5).param("search", "curry")
+                                .when().get("/recipe").then().statusCode(HttpStatus.OK.value());
+                    }));
+                }
+
+                clients.add(executor.submit(() ->
+                        givenAuthenticated().when().get("/recipe/export").then().statusCode(HttpStatus.OK.value())));
+
+                for (Future<?> client : clients) {
+                    client.get();
+                }
+            }
+
+            recording.stop();
+        }
+
+        assertThat(String.join("\n", pinned), pinned, empty());
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.filter;
+
+import com.example.demo.TestcontainersConfiguration;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "recipes.request-counter.persistence.enabled=true",
+                "recipes.request-counter.persistence.flush-interval=1h"
+        }
+)
+@Import(TestcontainersConfiguration.class)
+class ClusterRequestCounterIntegrationTest {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+    private static final String[] ROUTES = {"/recipe", "/recipe/{recipeId}", "/recipe/batch"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RequestCounterFilter requestCounterFilter;
+
+    @Autowired
+    private ClusterRequestCounter clusterRequestCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RequestSpecification givenAuthenticated() {
+        return given().baseUri("http://localhost").port(this.port).contentType(ContentType.JSON)
+                .auth().preemptive().basic("admin", "password");
+    }
+
+    @BeforeEach
+    void setUp() {
+        requestCounterFilter.resetRequestCount();
+        requestCounterFilter.drainUnflushedCounts();
+        jdbcTemplate.execute("TRUNCATE request_counter");
+    }
+
+    @Test
+    void getRequestCount_shouldReturnTotalAcrossReplicas_asOfLastFlush() {
+        jdbcTemplate.update("INSERT INTO request_counter (endpoint, count) VALUES ('GET /recipe', 100)");
+
+        givenAuthenticated().when().get("/recipe/{recipeId}", Long.MAX_VALUE).then().statusCode(HttpStatus.NOT_FOUND.value());
+        givenAuthenticated().when().get("/recipe/{recipeId}", Long.MAX_VALUE).then().statusCode(HttpStatus.NOT_FOUND.value());
+        awaitEndpointCount("GET /recipe/{recipeId}", 2);
+
+        clusterRequestCounter.flush();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count FROM request_counter WHERE endpoint = 'GET /recipe/{recipeId}'", Long.class), equalTo(2L));
+
+        givenAuthenticated()
+            .when()
+                .get("/request/count")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(equalTo("102"));
+
+        awaitEndpointCount("GET /request/count", 1);
+        clusterRequestCounter.flush();
+
+        assertThat(clusterRequestCounter.getClusterCount(), equalTo(103L));
+    }
+
+    // The filter records a request after its response has been sent.
+    private void awaitEndpointCount(String endpoint, long count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (requestCounterFilter.getEndpointCounts().getOrDefault(endpoint, 0L) < count && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void concurrentFlushers_shouldNeitherLoseNorDoubleCountRequests() throws Exception {
+        int replicas = 2;
+        int threadsPerReplica = 4;
+        int requestsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(replicas * threadsPerReplica * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        List<ClusterRequestCounter> counters = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(replicas * threadsPerReplica);
+
+        for (int r = 0; r < replicas; r++) {
+            RequestCounterFilter filter = new RequestCounterFilter();
+            ClusterRequestCounter counter = new ClusterRequestCounter(filter, jdbcTemplate, true);
+            counters.add(counter);
+
+            for (int t = 0; t < threadsPerReplica; t++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        for (int i = 0; i < requestsPerThread; i++) {
+                            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+                            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTES[i % ROUTES.length]);
+                            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                    return null;
+                }));
+
+                futures.add(executor.submit(() -> {
+                    while (done.getCount() > 0) {
+                        counter.flush();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+
+        executor.shutdown();
+        counters.forEach(ClusterRequestCounter::flushOnShutdown);
+
+        long expected = (long) replicas * threadsPerReplica * requestsPerThread;
+
+        assertThat(jdbcTemplate.queryForObject("SELECT sum(count) FROM request_counter", Long.class), equalTo(expected));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM request_counter", Long.class), equalTo((long) ROUTES.length));
+        assertThat(counters.getLast().getClusterCount(), equalTo(expected));
+    }
+}
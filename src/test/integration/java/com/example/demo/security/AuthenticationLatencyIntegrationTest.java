@@ -0,0 +1,96 @@
+package com.example.demo.security;
+
+import com.example.demo.TestcontainersConfiguration;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+@Tag("benchmark")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "recipes.security.credentials-cache.enabled=false"
+)
+@Import(TestcontainersConfiguration.class)
+class AuthenticationLatencyIntegrationTest {
+
+    private static final int CLIENTS = 4;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int WARMUP_REQUESTS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void bearerToken_shouldHaveLowerP99LatencyThanBasicAuth() throws Exception {
+        String token = given().baseUri("http://localhost").port(port)
+                .auth().preemptive().basic("admin", "password")
+            .when()
+                .post("/auth/token")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .path("accessToken");
+
+        Supplier<RequestSpecification> basic = () -> given().baseUri("http://localhost").port(port)
+                .auth().preemptive().basic("admin", "password");
+        Supplier<RequestSpecification> bearer = () -> given().baseUri("http://localhost").port(port)
+                .auth().oauth2(token);
+
+        long basicP99 = p99(measure(basic));
+        long bearerP99 = p99(measure(bearer));
+
+        System.out.printf("GET /request/count p99: basic=%.2f ms, bearer=%.2f ms%n",
+                basicP99 / 1_000_000.0, bearerP99 / 1_000_000.0);
+
+        assertThat(bearerP99, lessThan(basicP99));
+    }
+
+    private List<Long> measure(Supplier<RequestSpecification> client) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            client.get().get("/request/count").then().statusCode(HttpStatus.OK.value());
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long start = System.nanoTime();
+                        client.get().get("/request/count").then().statusCode(HttpStatus.OK.value());
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        return latencies;
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+}
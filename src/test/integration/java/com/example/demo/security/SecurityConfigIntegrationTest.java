@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Import(TestcontainersConfiguration.class)
@@ -24,4 +25,75 @@ class SecurityConfigIntegrationTest {
             .then()
                 .statusCode(HttpStatus.UNAUTHORIZED.value());
     }
+
+    @Test
+    void createToken_shouldIssueBearerToken_forValidCredentials() {
+        given().baseUri("http://localhost").port(port)
+                .auth().preemptive().basic("admin", "password")
+            .when()
+                .post("/auth/token")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("accessToken", not(emptyOrNullString()))
+                .body("tokenType", equalTo("Bearer"))
+                .body("expiresIn", greaterThan(0));
+    }
+
+    @Test
+    void createToken_shouldReturnUnauthorized_forInvalidCredentials() {
+        given().baseUri("http://localhost").port(port)
+                .auth().preemptive().basic("admin", "wrong")
+            .when()
+                .post("/auth/token")
+            .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    void createToken_shouldReturnUnauthorized_forBearerToken() {
+        String token = issueToken();
+
+        given().baseUri("http://localhost").port(port)
+                .auth().oauth2(token)
+            .when()
+                .post("/auth/token")
+            .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldAuthenticateWithBearerToken() {
+        String token = issueToken();
+
+        given().baseUri("http://localhost").port(port)
+                .auth().oauth2(token)
+            .when()
+                .get("/recipe/{recipeId}", Long.MAX_VALUE)
+            .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void shouldReturnUnauthorized_forTamperedBearerToken() {
+        String token = issueToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        given().baseUri("http://localhost").port(port)
+                .auth().oauth2(tampered)
+            .when()
+                .get("/request/count")
+            .then()
+                .statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    private String issueToken() {
+        return given().baseUri("http://localhost").port(port)
+                .auth().preemptive().basic("admin", "password")
+            .when()
+                .post("/auth/token")
+            .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .path("accessToken");
+    }
 }
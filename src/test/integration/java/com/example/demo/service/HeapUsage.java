@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import java.lang.management.ManagementFactory;
+
+final class HeapUsage {
+
+    private HeapUsage() {
+    }
+
+    /**
+     * @return heap in use right after a requested full collection, i.e. roughly what is still reachable
+     */
+    static long retained() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.TestcontainersConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestcontainersConfiguration.class)
+class RecipeExportBenchmarkIntegrationTest {
+
+    private static final int RECIPES = 500_000;
+    private static final int INGREDIENTS_PER_RECIPE = 3;
+    private static final int HEAP_SAMPLES = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+
+        jdbcTemplate.update("""
+                INSERT INTO recipe (name, description, difficulty, preparation_time)
+                SELECT 'Recipe ' || g, repeat('Mix, stir and simmer. ', 10), (ARRAY['EASY','MEDIUM','HARD'])[1 + g % 3]::difficulty, 10 + g % 50
+                FROM generate_series(1, ?) g
+                """, RECIPES);
+
+        jdbcTemplate.update("""
+                INSERT INTO ingredient (name, quantity, unit, recipe_id)
+                SELECT 'Ingredient ' || g, g, 'G', r.id
+                FROM recipe r CROSS JOIN generate_series(1, ?) g
+                """, INGREDIENTS_PER_RECIPE);
+
+        jdbcTemplate.execute("ANALYZE recipe");
+        jdbcTemplate.execute("ANALYZE ingredient");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @Test
+    void exportRecipes_shouldStreamWholeCatalogWithBoundedHeap() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/recipe/export"))
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8)))
+                .GET()
+                .build();
+
+        long baseline = HeapUsage.retained();
+        long maxHeapGrowth = 0;
+        long bytes = 0;
+        int lines = 0;
+
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                bytes += line.length() + 1;
+
+                if (++lines % (RECIPES / HEAP_SAMPLES) == 0) {
+                    maxHeapGrowth = Math.max(maxHeapGrowth, HeapUsage.retained() - baseline);
+                }
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("exported %d recipes with %d ingredients each (%d MB of NDJSON) in %.1f s, retained heap grew by at most %d MB%n",
+                lines, INGREDIENTS_PER_RECIPE, bytes >> 20, seconds, maxHeapGrowth >> 20);
+
+        assertThat(response.statusCode(), equalTo(HttpStatus.OK.value()));
+        assertThat(lines, equalTo(RECIPES));
+        assertThat(maxHeapGrowth, lessThan(bytes / 4));
+    }
+}
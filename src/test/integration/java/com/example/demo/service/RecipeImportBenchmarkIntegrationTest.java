@@ -0,0 +1,133 @@
+package com.example.demo.service;
+
+import com.example.demo.TestcontainersConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestcontainersConfiguration.class)
+class RecipeImportBenchmarkIntegrationTest {
+
+    private static final int RECIPES = 200_000;
+    private static final int INGREDIENTS_PER_RECIPE = 5;
+    private static final int HEAP_SAMPLES = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @Test
+    void importRecipes_shouldImportMillionIngredientsWithBoundedHeap() throws Exception {
+        long baseline = HeapUsage.retained();
+        NdjsonRecipes body = new NdjsonRecipes(baseline);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/recipe/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .header("Authorization", "Basic " + Base64.getEncoder().encodeToString("admin:password".getBytes(StandardCharsets.UTF_8)))
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> body))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("imported %d recipes and %d ingredients (%d MB of NDJSON) in %.1f s, retained heap grew by at most %d MB%n",
+                RECIPES, RECIPES * INGREDIENTS_PER_RECIPE, body.bytes >> 20, seconds, body.maxHeapGrowth >> 20);
+
+        assertThat(response.statusCode(), equalTo(HttpStatus.OK.value()));
+        assertThat(response.body(), containsString("\"imported\":" + RECIPES));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM ingredient", Long.class), equalTo((long) RECIPES * INGREDIENTS_PER_RECIPE));
+        assertThat(body.maxHeapGrowth, lessThan(body.bytes / 4));
+    }
+
+    /**
+     * Generates the request body line by line and samples the retained heap while the import is running.
+     */
+    private static class NdjsonRecipes extends InputStream {
+        private final long baseline;
+        private byte[] line = new byte[0];
+        private int position;
+        private int recipe;
+        private long bytes;
+        private long maxHeapGrowth;
+
+        NdjsonRecipes(long baseline) {
+            this.baseline = baseline;
+        }
+
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == line.length) {
+                if (recipe == RECIPES) {
+                    return -1;
+                }
+
+                if (recipe % (RECIPES / HEAP_SAMPLES) == 0 && recipe > 0) {
+                    maxHeapGrowth = Math.max(maxHeapGrowth, HeapUsage.retained() - baseline);
+                }
+
+                line = nextLine(recipe++).getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                bytes += line.length;
+            }
+
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private static String nextLine(int i) {
+            StringBuilder ingredients = new StringBuilder();
+
+            for (int j = 0; j < INGREDIENTS_PER_RECIPE; j++) {
+                ingredients.append(j == 0 ? "" : ",")
+                        .append("{\"name\":\"Ingredient ").append(j)
+                        .append("\",\"quantity\":").append(j + 1)
+                        .append(",\"unit\":\"G\"}");
+            }
+
+            return "{\"name\":\"Recipe " + i + "\",\"description\":\"" + "Mix, stir and simmer. ".repeat(10)
+                    + "\",\"difficulty\":\"" + (i % 2 == 0 ? "EASY" : "HARD") + "\",\"preparationTime\":" + (10 + i % 50)
+                    + ",\"ingredients\":[" + ingredients + "]}\n";
+        }
+    }
+}
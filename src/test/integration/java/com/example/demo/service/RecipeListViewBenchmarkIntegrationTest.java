@@ -0,0 +1,226 @@
+package com.example.demo.service;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.entity.Recipe;
+import com.example.demo.mapper.RecipeMapper;
+import com.example.demo.models.RecipeResponse;
+import com.example.demo.repository.RecipeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.net.SocketFactory;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Compares a page read through entities with the column projections behind {@code view=full} and {@code view=summary}:
+ * bytes received from Postgres, heap allocated on the calling thread and size of the serialized response.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.data-source-properties.socketFactory="
+        + "com.example.demo.service.RecipeListViewBenchmarkIntegrationTest$CountingSocketFactory")
+@Import(TestcontainersConfiguration.class)
+class RecipeListViewBenchmarkIntegrationTest {
+
+    private static final int RECIPES = 2_000;
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = RECIPES / PAGE_SIZE;
+    private static final AtomicLong BYTES_RECEIVED = new AtomicLong();
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeMapper recipeMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+
+        jdbcTemplate.update("""
+                INSERT INTO recipe (name, description, difficulty, preparation_time)
+                SELECT 'Recipe ' || g, repeat('Mix, stir and simmer until the sauce thickens. ', 20), (ARRAY['EASY','MEDIUM','HARD'])[1 + g % 3]::difficulty, 10 + g % 50
+                FROM generate_series(1, ?) g
+                """, RECIPES);
+
+        jdbcTemplate.update("""
+                INSERT INTO ingredient (name, quantity, unit, recipe_id)
+                SELECT (ARRAY['Egg','Flour','Sugar','Butter','Milk','Salt','Pepper','Garlic','Onion','Tomato'])[1 + (r.id + g) % 10] || ' ' || g,
+                       g, 'G', r.id
+                FROM recipe r CROSS JOIN generate_series(1, ?) g
+                """, INGREDIENTS_PER_RECIPE);
+
+        jdbcTemplate.execute("ANALYZE recipe");
+        jdbcTemplate.execute("ANALYZE ingredient");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @Test
+    void summaryView_shouldReadAllocateAndSendLessThanFullView() throws Exception {
+        Measurement entities = measure(this::entityPage);
+        Measurement full = measure(page -> recipeService.searchRecipes(page, PAGE_SIZE, null, null, "name", "asc", null, null, "full"));
+        Measurement summary = measure(page -> recipeService.searchRecipes(page, PAGE_SIZE, null, null, "name", "asc", null, null, "summary"));
+
+        System.out.printf("%d recipes per page, averaged over %d pages:%n", PAGE_SIZE, PAGES);
+        System.out.printf("  entities:     %s%n", entities);
+        System.out.printf("  view=full:    %s%n", full);
+        System.out.printf("  view=summary: %s%n", summary);
+
+        assertThat(full.bytesFromDatabase(), lessThan(entities.bytesFromDatabase()));
+        assertThat(summary.bytesFromDatabase(), lessThan(full.bytesFromDatabase()));
+        assertThat(summary.allocatedBytes(), lessThan(full.allocatedBytes()));
+        assertThat(summary.responseBytes(), lessThan(full.responseBytes()));
+    }
+
+    // How pages were read before the projections: recipe entities, then the same recipes again with their ingredients.
+    private List<RecipeResponse> entityPage(int page) {
+        return transactionTemplate.execute(status -> {
+            Page<Recipe> recipePage = recipeRepository.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by("name", "id")));
+            Map<Long, Recipe> recipesById = entityManager
+                    .createQuery("SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.ingredients WHERE r.id IN :ids", Recipe.class)
+                    .setParameter("ids", recipePage.map(Recipe::getId).getContent())
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultList().stream()
+                    .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+            return recipePage.map(recipe -> recipeMapper.toResponse(recipesById.get(recipe.getId()))).getContent();
+        });
+    }
+
+    private Measurement measure(IntFunction<?> search) throws Exception {
+        for (int page = 0; page < PAGES; page++) {
+            search.apply(page);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesFromDatabase = 0;
+        long allocatedBytes = 0;
+        long responseBytes = 0;
+
+        for (int page = 0; page < PAGES; page++) {
+            long received = BYTES_RECEIVED.get();
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+
+            Object response = search.apply(page);
+
+            allocatedBytes += threads.getCurrentThreadAllocatedBytes() - allocated;
+            bytesFromDatabase += BYTES_RECEIVED.get() - received;
+            responseBytes += objectMapper.writeValueAsBytes(response).length;
+        }
+
+        return new Measurement(bytesFromDatabase / PAGES, allocatedBytes / PAGES, responseBytes / PAGES);
+    }
+
+    private record Measurement(long bytesFromDatabase, long allocatedBytes, long responseBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%,d bytes from Postgres, %,d bytes allocated, %,d bytes of JSON",
+                    bytesFromDatabase, allocatedBytes, responseBytes);
+        }
+    }
+
+    /**
+     * Handed to the Postgres driver by class name; counts every byte it reads from the server.
+     */
+    public static class CountingSocketFactory extends SocketFactory {
+
+        @Override
+        public Socket createSocket() {
+            return new Socket() {
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return new FilterInputStream(super.getInputStream()) {
+                        @Override
+                        public int read() throws IOException {
+                            int b = super.read();
+
+                            if (b >= 0) {
+                                BYTES_RECEIVED.incrementAndGet();
+                            }
+
+                            return b;
+                        }
+
+                        @Override
+                        public int read(byte[] buffer, int offset, int length) throws IOException {
+                            int read = super.read(buffer, offset, length);
+
+                            if (read > 0) {
+                                BYTES_RECEIVED.addAndGet(read);
+                            }
+
+                            return read;
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package com.example.demo.service;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.Recipe;
+import com.example.demo.exception.RecipeNotFoundException;
+import com.example.demo.models.*;
+import com.example.demo.repository.RecipeRepository;
+import com.example.demo.specification.CapturingStatementInspector;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.demo.specification.CapturingStatementInspector"
+})
+@Import(TestcontainersConfiguration.class)
+class RecipeServiceIntegrationTest {
+
+    private static final int RECIPES = 30;
+    private static final int INGREDIENTS_PER_RECIPE = 3;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+
+        List<Recipe> recipes = new ArrayList<>();
+
+        for (int i = 0; i < RECIPES; i++) {
+            Recipe recipe = Recipe.builder()
+                    .name(String.format("Recipe %02d", i))
+                    .description("Mix everything together...")
+                    .difficulty(Recipe.Difficulty.values()[i % 3])
+                    .preparationTime(i % 4 == 0 ? null : 10 + i % 3)
+                    .build();
+
+            recipe.setIngredients(IntStream.range(0, INGREDIENTS_PER_RECIPE)
+                    .mapToObj(j -> Ingredient.builder()
+                            .name("Ingredient " + j)
+                            .quantity(1.0)
+                            .unit(Ingredient.Unit.G)
+                            .recipe(recipe)
+                            .build())
+                    .toList());
+
+            recipes.add(recipe);
+        }
+
+        recipeRepository.saveAll(recipes);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeRepository.deleteAll();
+    }
+
+    @Test
+    void searchRecipes_shouldUseConstantNumberOfStatements_regardlessOfPageSize() {
+        long smallPageStatements = statementsFor(() -> recipeService.searchRecipes(1, 5, null, null, "name", "asc", null, null, null));
+        long largePageStatements = statementsFor(() -> recipeService.searchRecipes(0, 25, null, null, "name", "asc", null, null, null));
+
+        assertThat(smallPageStatements, equalTo(3L));
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+    }
+
+    @Test
+    void searchRecipes_shouldUseConstantNumberOfStatements_whenSearching() {
+        long smallPageStatements = statementsFor(() -> recipeService.searchRecipes(1, 5, "ingredient", null, "name", "asc", null, null, null));
+        long largePageStatements = statementsFor(() -> recipeService.searchRecipes(0, 25, "ingredient", null, "name", "asc", null, null, null));
+
+        assertThat(smallPageStatements, equalTo(3L));
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+    }
+
+    @Test
+    void searchRecipes_shouldReturnIngredientsInPageOrder() {
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 10, null, null, "name", "desc", null, null, null);
+
+        assertThat(response.getContent(), hasSize(10));
+        assertThat(response.getContent().getFirst().getName(), equalTo("Recipe 29"));
+        assertThat(response.getContent().get(9).getName(), equalTo("Recipe 20"));
+        response.getContent().forEach(recipe -> assertThat(recipe.getIngredients(), hasSize(INGREDIENTS_PER_RECIPE)));
+    }
+
+    @Test
+    void searchRecipes_shouldReadColumnsWithoutLoadingEntities() {
+        statistics.clear();
+
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 10, "ingredient", null, "name", "asc", null, null, null);
+
+        assertThat(response.getContent(), hasSize(10));
+        assertThat(response.getContent().getFirst().getDescription(), equalTo("Mix everything together..."));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
+    @Test
+    void searchRecipes_shouldReadFullTextResultsWithoutDescription_whenViewIsSummary() {
+        PaginatedRecipeResponse[] response = new PaginatedRecipeResponse[1];
+        statistics.clear();
+
+        List<String> statements = statementsDuring(() ->
+                response[0] = recipeService.searchRecipes(0, 10, "mix", "fulltext", null, null, null, null, "summary"));
+
+        assertThat(statements, hasSize(2));
+        assertThat(statements.getFirst(), not(containsString("r.description")));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(response[0].getTotalElements(), equalTo(RECIPES));
+        assertThat(response[0].getContent(), hasSize(10));
+        response[0].getContent().forEach(recipe -> {
+            assertThat(recipe.getDescription(), nullValue());
+            assertThat(recipe.getIngredients(), nullValue());
+        });
+    }
+
+    @Test
+    void searchRecipes_shouldReadFullTextResultsWithIngredients_whenViewIsFull() {
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 10, "mix", "fulltext", null, null, null, null, null);
+
+        assertThat(response.getContent(), hasSize(10));
+        response.getContent().forEach(recipe -> {
+            assertThat(recipe.getDescription(), equalTo("Mix everything together..."));
+            assertThat(recipe.getIngredients(), hasSize(INGREDIENTS_PER_RECIPE));
+        });
+    }
+
+    @Test
+    void searchRecipes_shouldSkipDescriptionAndIngredients_whenViewIsSummary() {
+        PaginatedRecipeResponse[] response = new PaginatedRecipeResponse[1];
+
+        List<String> statements = statementsDuring(() ->
+                response[0] = recipeService.searchRecipes(0, 10, null, null, "name", "asc", null, null, "summary"));
+
+        assertThat(statements, hasSize(2));
+        assertThat(statements.getFirst(), not(containsString("description")));
+        assertThat(statements, everyItem(not(containsString("ingredient"))));
+        assertThat(response[0].getTotalElements(), equalTo(RECIPES));
+        response[0].getContent().forEach(recipe -> {
+            assertThat(recipe.getName(), startsWith("Recipe "));
+            assertThat(recipe.getDescription(), nullValue());
+            assertThat(recipe.getIngredients(), nullValue());
+        });
+    }
+
+    @ParameterizedTest(name = "sortBy = {0}, direction = {1}")
+    @CsvSource({
+            "name, asc",
+            "name, desc",
+            "difficulty, asc",
+            "preparationTime, asc",
+            "preparationTime, desc",
+            "createdAt, desc",
+            "id, asc"
+    })
+    void searchRecipes_shouldWalkAllRecipesWithCursor_inOffsetOrder(String sortBy, String direction) {
+        List<Long> offsetOrder = recipeService.searchRecipes(0, RECIPES, null, null, sortBy, direction, null, null, null)
+                .getContent().stream().map(RecipeListItemResponse::getId).toList();
+
+        List<Long> cursorOrder = new ArrayList<>();
+        String cursor = "";
+
+        do {
+            PaginatedRecipeResponse response = recipeService.searchRecipes(0, 7, null, null, sortBy, direction, cursor, null, null);
+            response.getContent().forEach(recipe -> cursorOrder.add(recipe.getId()));
+            cursor = response.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(cursorOrder, equalTo(offsetOrder));
+    }
+
+    @Test
+    void searchRecipes_shouldWalkSearchResultsWithCursor() {
+        PaginatedRecipeResponse first = recipeService.searchRecipes(0, 2, "recipe 1", null, "name", "asc", "", null, null);
+        PaginatedRecipeResponse second = recipeService.searchRecipes(0, 10, "recipe 1", null, "name", "asc", first.getNextCursor(), null, null);
+
+        assertThat(first.getContent().stream().map(RecipeListItemResponse::getName).toList(), contains("Recipe 10", "Recipe 11"));
+        assertThat(second.getContent(), hasSize(8));
+        assertThat(second.getContent().getFirst().getName(), equalTo("Recipe 12"));
+        assertThat(second.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void searchRecipes_shouldSkipCountQuery_whenCursorIsGiven() {
+        String cursor = recipeService.searchRecipes(0, 5, null, null, "name", "asc", "", null, null).getNextCursor();
+
+        long statements = statementsFor(() -> recipeService.searchRecipes(0, 5, null, null, "name", "asc", cursor, null, null));
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @Test
+    void searchRecipes_shouldSkipCountQuery_whenCountIsNone() {
+        PaginatedRecipeResponse[] response = new PaginatedRecipeResponse[1];
+
+        long statements = statementsFor(() -> response[0] = recipeService.searchRecipes(1, 10, null, null, "name", "asc", null, "none", null));
+
+        assertThat(statements, equalTo(2L));
+        assertThat(response[0].getContent(), hasSize(10));
+        assertThat(response[0].getHasNext(), equalTo(true));
+        assertThat(response[0].getTotalElements(), nullValue());
+        assertThat(recipeService.searchRecipes(2, 10, null, null, "name", "asc", null, "none", null).getHasNext(), equalTo(false));
+    }
+
+    @Test
+    void searchRecipes_shouldUsePlannerEstimate_whenCountIsEstimate() {
+        jdbcTemplate.execute("ANALYZE recipe");
+
+        PaginatedRecipeResponse[] response = new PaginatedRecipeResponse[1];
+
+        long statements = statementsFor(() -> response[0] = recipeService.searchRecipes(0, 10, null, null, "name", "asc", null, "estimate", null));
+
+        assertThat(statements, equalTo(3L));
+        assertThat(response[0].getTotalElements(), equalTo(RECIPES));
+        assertThat(response[0].getTotalPages(), equalTo(3));
+        assertThat(response[0].getHasNext(), equalTo(true));
+    }
+
+    @Test
+    void searchRecipes_shouldCountFromLastPage_whenCountIsEstimate() {
+        PaginatedRecipeResponse[] response = new PaginatedRecipeResponse[1];
+
+        long statements = statementsFor(() -> response[0] = recipeService.searchRecipes(2, 12, null, null, "name", "asc", null, "estimate", null));
+
+        assertThat(statements, equalTo(2L));
+        assertThat(response[0].getTotalElements(), equalTo(RECIPES));
+        assertThat(response[0].getHasNext(), equalTo(false));
+    }
+
+    @Test
+    void searchRecipes_shouldCountExactly_whenCountIsEstimateAndPageIsPastTheEnd() {
+        // keep autovacuum from refreshing the estimate before the page is read
+        jdbcTemplate.execute("ALTER TABLE recipe SET (autovacuum_enabled = false)");
+
+        try {
+            jdbcTemplate.update("INSERT INTO recipe (name, description, difficulty) SELECT 'Stale ' || g, '', 'EASY' FROM generate_series(1, 1000) g");
+            jdbcTemplate.execute("ANALYZE recipe");
+            jdbcTemplate.update("DELETE FROM recipe WHERE name LIKE 'Stale %'");
+
+            assertThat(recipeRepository.estimateCount(), greaterThan((long) RECIPES));
+
+            PaginatedRecipeResponse response = recipeService.searchRecipes(5, 10, null, null, "name", "asc", null, "estimate", null);
+
+            assertThat(response.getContent(), empty());
+            assertThat(response.getTotalElements(), equalTo(RECIPES));
+            assertThat(response.getTotalPages(), equalTo(3));
+            assertThat(response.getHasNext(), equalTo(false));
+            assertThat(response.getNextCursor(), nullValue());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE recipe RESET (autovacuum_enabled)");
+        }
+    }
+
+    @Test
+    void searchRecipes_shouldCountExactly_whenCountIsEstimateAndSearching() {
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 2, "recipe 1", null, "name", "asc", null, "estimate", null);
+
+        assertThat(response.getTotalElements(), equalTo(10));
+    }
+
+    @Test
+    void createRecipes_shouldBatchInserts() {
+        int recipes = 200;
+
+        List<RecipeRequest> recipeRequests = IntStream.range(0, recipes)
+                .mapToObj(i -> new RecipeRequest()
+                        .name("Batch " + i)
+                        .description("Mix everything together...")
+                        .difficulty(Difficulty.EASY)
+                        .preparationTime(10)
+                        .ingredients(IntStream.range(0, INGREDIENTS_PER_RECIPE)
+                                .mapToObj(j -> new IngredientRequest().name("Ingredient " + j).quantity(1.0).unit(Unit.G))
+                                .toList()))
+                .toList();
+
+        long statements = statementsFor(() -> recipeService.createRecipes(recipeRequests));
+
+        // one sequence call per 50 ids plus one batched insert statement per table
+        assertThat(statistics.getEntityInsertCount(), equalTo((long) recipes * (1 + INGREDIENTS_PER_RECIPE)));
+        assertThat(statements, equalTo((long) (recipes + recipes * INGREDIENTS_PER_RECIPE) / 50 + 2));
+        assertThat(recipeRepository.count(), equalTo((long) RECIPES + recipes));
+    }
+
+    @Test
+    void updateRecipeById_shouldOnlyReadRows_whenNothingChanged() {
+        RecipeResponse recipe = anyRecipe();
+
+        List<String> statements = statementsDuring(() -> recipeService.updateRecipeById(recipe.getId(), updateRequest(recipe)));
+
+        assertThat(statements, hasSize(2));
+        assertThat(statements, everyItem(startsWith("select")));
+        assertThat(recipeService.getRecipe(recipe.getId()).getVersion(), equalTo(recipe.getVersion()));
+    }
+
+    @Test
+    void updateRecipeById_shouldUpdateOnlyChangedIngredient_andBumpVersion() {
+        RecipeResponse recipe = anyRecipe();
+        RecipeUpdateRequest request = updateRequest(recipe);
+        request.getIngredients().get(1).setQuantity(5.0);
+
+        RecipeResponse[] response = new RecipeResponse[1];
+        List<String> statements = statementsDuring(() -> response[0] = recipeService.updateRecipeById(recipe.getId(), request));
+
+        assertThat(statements, hasSize(4));
+        assertThat(statements.get(2), startsWith("update ingredient"));
+        assertThat(statements.get(3), startsWith("update recipe"));
+        assertThat(response[0].getVersion(), equalTo(recipe.getVersion() + 1));
+        assertThat(response[0].getIngredients().stream().map(IngredientResponse::getQuantity).toList(), contains(1.0, 5.0, 1.0));
+    }
+
+    @Test
+    void updateRecipeById_shouldReplaceAllIngredients_withOneStatementPerKindOfChange() {
+        RecipeResponse recipe = anyRecipe();
+        RecipeUpdateRequest request = updateRequest(recipe).ingredients(IntStream.range(0, 40)
+                .mapToObj(i -> new IngredientUpdateRequest().name("New " + i).quantity(2.0).unit(Unit.KG))
+                .toList());
+
+        RecipeResponse[] response = new RecipeResponse[1];
+        List<String> statements = statementsDuring(() -> response[0] = recipeService.updateRecipeById(recipe.getId(), request));
+
+        // reads, one batched insert, one delete for every removed row and the version bump
+        assertThat(statements, hasSize(5));
+        assertThat(statements, hasItem(startsWith("insert into ingredient")));
+        assertThat(statements, hasItem(containsString("DELETE FROM ingredient WHERE id = ANY")));
+        assertThat(response[0].getVersion(), equalTo(recipe.getVersion() + 1));
+
+        RecipeResponse stored = recipeService.getRecipe(recipe.getId());
+
+        assertThat(stored.getIngredients(), hasSize(40));
+        assertThat(stored.getIngredients(), everyItem(hasProperty("name", startsWith("New "))));
+    }
+
+    @Test
+    void patchRecipeById_shouldIssueOneStatement_whenOnlyNameChanges() {
+        RecipeResponse recipe = anyRecipe();
+
+        long[] version = new long[1];
+        List<String> statements = statementsDuring(() ->
+                version[0] = recipeService.patchRecipeById(recipe.getId(), new RecipePatchRequest().name("Renamed")));
+
+        assertThat(statements, hasSize(1));
+        assertThat(statements.getFirst(), startsWith("UPDATE recipe SET"));
+        assertThat(version[0], equalTo(recipe.getVersion() + 1));
+
+        RecipeResponse stored = recipeService.getRecipe(recipe.getId());
+
+        assertThat(stored.getName(), equalTo("Renamed"));
+        assertThat(stored.getDescription(), equalTo(recipe.getDescription()));
+        assertThat(stored.getDifficulty(), equalTo(recipe.getDifficulty()));
+        assertThat(stored.getPreparationTime(), equalTo(recipe.getPreparationTime()));
+        assertThat(stored.getVersion(), equalTo(version[0]));
+        assertThat(stored.getIngredients(), equalTo(recipe.getIngredients()));
+    }
+
+    @Test
+    void patchRecipeById_shouldSetAndClearColumns() {
+        RecipeResponse recipe = anyRecipe();
+
+        recipeService.patchRecipeById(recipe.getId(), new RecipePatchRequest()
+                .description("Stir gently")
+                .difficulty(RecipePatchRequest.DifficultyEnum.HARD)
+                .preparationTime(null));
+
+        RecipeResponse stored = recipeService.getRecipe(recipe.getId());
+
+        assertThat(stored.getName(), equalTo(recipe.getName()));
+        assertThat(stored.getDescription(), equalTo("Stir gently"));
+        assertThat(stored.getDifficulty(), equalTo(Difficulty.HARD));
+        assertThat(stored.getPreparationTime(), nullValue());
+    }
+
+    @Test
+    void patchRecipeById_shouldOnlyTouchChangedIngredients_whenIngredientsArePatched() {
+        RecipeResponse recipe = anyRecipe();
+        List<IngredientUpdateRequest> ingredients = updateRequest(recipe).getIngredients();
+        ingredients.get(1).setQuantity(5.0);
+
+        long[] version = new long[1];
+        List<String> statements = statementsDuring(() ->
+                version[0] = recipeService.patchRecipeById(recipe.getId(), new RecipePatchRequest().ingredients(ingredients)));
+
+        // the version and ingredient reads, the changed ingredient and the version bump; the recipe row is never selected
+        assertThat(statements, hasSize(4));
+        assertThat(statements, not(hasItem(containsString("from recipe r1_0 left join"))));
+        assertThat(statements.get(2), startsWith("update ingredient"));
+        assertThat(statements.get(3), startsWith("UPDATE recipe SET"));
+        assertThat(version[0], equalTo(recipe.getVersion() + 1));
+
+        RecipeResponse stored = recipeService.getRecipe(recipe.getId());
+
+        assertThat(stored.getName(), equalTo(recipe.getName()));
+        assertThat(stored.getIngredients().stream().map(IngredientResponse::getQuantity).toList(), contains(1.0, 5.0, 1.0));
+    }
+
+    @Test
+    void patchRecipeById_shouldNotLeaveStaleRecipeInThePersistenceContext() {
+        Long id = recipeRepository.findAll().getFirst().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.findById(id).orElseThrow();
+
+            long version = recipeService.patchRecipeById(id, new RecipePatchRequest().name("Renamed"));
+            Recipe reloaded = recipeRepository.findById(id).orElseThrow();
+
+            assertThat(entityManager.contains(recipe), equalTo(false));
+            assertThat(reloaded.getName(), equalTo("Renamed"));
+            assertThat(reloaded.getVersion(), equalTo(version));
+        });
+    }
+
+    @Test
+    void deleteRecipeById_shouldDeleteRecipeAndIngredients_inOneStatement() {
+        RecipeResponse recipe = anyRecipe();
+
+        List<String> statements = statementsDuring(() -> recipeService.deleteRecipeById(recipe.getId()));
+
+        assertThat(statements, contains(startsWith("DELETE FROM recipe")));
+        assertThat(recipeRepository.existsById(recipe.getId()), equalTo(false));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM ingredient WHERE recipe_id = ?", Long.class, recipe.getId()), equalTo(0L));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM ingredient", Long.class),
+                equalTo((long) (RECIPES - 1) * INGREDIENTS_PER_RECIPE));
+    }
+
+    @Test
+    void deleteRecipeById_shouldThrowException_whenRecipeDoesNotExist() {
+        Long missingId = recipeRepository.findAll().stream().mapToLong(Recipe::getId).max().orElseThrow() + 1;
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.deleteRecipeById(missingId));
+        assertThat(recipeRepository.count(), equalTo((long) RECIPES));
+    }
+
+    @Test
+    void deleteRecipesById_shouldDeleteAllRecipes_inOneStatement() {
+        List<Long> ids = recipeRepository.findAll().stream().map(Recipe::getId).limit(10).toList();
+
+        RecipeDeleteResponse[] response = new RecipeDeleteResponse[1];
+        List<String> statements = statementsDuring(() -> response[0] = recipeService.deleteRecipesById(ids));
+
+        assertThat(statements, contains(startsWith("DELETE FROM recipe")));
+        assertThat(response[0].getIds(), equalTo(ids.stream().sorted().toList()));
+        assertThat(recipeRepository.count(), equalTo((long) RECIPES - 10));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM ingredient", Long.class),
+                equalTo((long) (RECIPES - 10) * INGREDIENTS_PER_RECIPE));
+    }
+
+    @Test
+    void deleteRecipesById_shouldNotLeaveDeletedRecipesInThePersistenceContext() {
+        Long id = recipeRepository.findAll().getFirst().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.findById(id).orElseThrow();
+            recipe.setName("Renamed before delete");
+
+            recipeService.deleteRecipesById(List.of(id));
+
+            assertThat(entityManager.contains(recipe), equalTo(false));
+            assertThat(recipeRepository.findById(id).isPresent(), equalTo(false));
+        });
+
+        assertThat(recipeRepository.existsById(id), equalTo(false));
+    }
+
+    private RecipeResponse anyRecipe() {
+        return recipeService.getRecipe(recipeRepository.findAll().getFirst().getId());
+    }
+
+    private static RecipeUpdateRequest updateRequest(RecipeResponse recipe) {
+        return new RecipeUpdateRequest()
+                .name(recipe.getName())
+                .description(recipe.getDescription())
+                .difficulty(recipe.getDifficulty())
+                .preparationTime(recipe.getPreparationTime())
+                .ingredients(recipe.getIngredients().stream()
+                        .map(ingredient -> new IngredientUpdateRequest()
+                                .id(ingredient.getId())
+                                .name(ingredient.getName())
+                                .quantity(ingredient.getQuantity())
+                                .unit(ingredient.getUnit()))
+                        .toList());
+    }
+
+    // Sequence calls depend on how much of the pooled id block earlier tests used up, so they are left out.
+    private static List<String> statementsDuring(Runnable action) {
+        CapturingStatementInspector.clear();
+        action.run();
+        return CapturingStatementInspector.statements().stream().filter(sql -> !sql.contains("nextval")).toList();
+    }
+
+    private long statementsFor(Runnable search) {
+        statistics.clear();
+        search.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.specification.CapturingStatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.demo.specification.CapturingStatementInspector")
+@Import(TestcontainersConfiguration.class)
+class RecipeSortIndexIntegrationTest {
+
+    private static final int RECIPES = 20_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+
+        jdbcTemplate.update("""
+                INSERT INTO recipe (name, description, difficulty, preparation_time, created_at)
+                SELECT 'Recipe ' || md5(g::text), 'Mix everything together...',
+                       (ARRAY['EASY','MEDIUM','HARD'])[1 + g % 3]::difficulty,
+                       CASE WHEN g % 10 = 0 THEN NULL ELSE 5 + g % 120 END,
+                       now() - g * interval '1 minute'
+                FROM generate_series(1, ?) g
+                """, RECIPES);
+
+        jdbcTemplate.execute("ANALYZE recipe");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @ParameterizedTest(name = "sortBy = {0}, direction = {1}")
+    @CsvSource({
+            "name, asc, idx_recipe_name_id",
+            "name, desc, idx_recipe_name_id",
+            "difficulty, asc, idx_recipe_difficulty_id",
+            "difficulty, desc, idx_recipe_difficulty_id",
+            "preparationTime, asc, idx_recipe_preparation_time_id",
+            "preparationTime, desc, idx_recipe_preparation_time_id",
+            "createdAt, asc, idx_recipe_created_at_id",
+            "createdAt, desc, idx_recipe_created_at_id"
+    })
+    void searchRecipes_shouldReadPageInIndexOrder_withoutSorting(String sortBy, String direction, String index) {
+        String sql = pageQuery(sortBy, direction);
+
+        String plan = explain(sql, null);
+
+        assertThat(plan, containsString("Index Scan"));
+        assertThat(plan, containsString(index));
+        assertThat(plan, not(containsString("Sort")));
+        assertThat(explain(sql, index), containsString("Sort"));
+    }
+
+    @ParameterizedTest(name = "direction = {0}")
+    @CsvSource({"asc", "desc"})
+    void searchRecipes_shouldReadPageInPrimaryKeyOrder_whenSortingById(String direction) {
+        String plan = explain(pageQuery("id", direction), null);
+
+        assertThat(plan, containsString("recipe_pkey"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    private String pageQuery(String sortBy, String direction) {
+        CapturingStatementInspector.clear();
+        recipeService.searchRecipes(0, PAGE_SIZE, null, null, sortBy, direction, null, "none", null);
+
+        return CapturingStatementInspector.statements().getFirst();
+    }
+
+    // Plans the statement the application issued, optionally with an index dropped for the duration of the transaction.
+    private String explain(String sql, String droppedIndex) {
+        return transactionTemplate.execute(status -> {
+            if (droppedIndex != null) {
+                jdbcTemplate.execute("DROP INDEX " + droppedIndex);
+            }
+
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", String.valueOf(PAGE_SIZE + 1)), String.class));
+            status.setRollbackOnly();
+
+            return plan;
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.specification;
+
+import com.example.demo.TestcontainersConfiguration;
+import com.example.demo.entity.Recipe;
+import com.example.demo.repository.RecipeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class RecipeSpecificationsBenchmarkIntegrationTest {
+
+    private static final int RECIPES = 100_000;
+    private static final int INGREDIENTS_PER_RECIPE = 10;
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int ITERATIONS = 5;
+    private static final String SEARCH = "tomato";
+
+    private static final String JOIN_SQL = """
+            SELECT DISTINCT r.* FROM recipe r JOIN ingredient i ON i.recipe_id = r.id
+            WHERE lower(r.name) LIKE '%tomato%' OR lower(r.difficulty::text) LIKE '%tomato%' OR lower(i.name) LIKE '%tomato%'
+            ORDER BY r.name LIMIT 20
+            """;
+
+    private static final String EXISTS_SQL = """
+            SELECT r.* FROM recipe r
+            WHERE lower(r.name) LIKE '%tomato%' OR lower(r.difficulty::text) LIKE '%tomato%'
+               OR EXISTS (SELECT 1 FROM ingredient i WHERE i.recipe_id = r.id AND lower(i.name) LIKE '%tomato%')
+            ORDER BY r.name LIMIT 20
+            """;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+
+        jdbcTemplate.update("""
+                INSERT INTO recipe (name, description, difficulty, preparation_time)
+                SELECT 'Recipe ' || g, repeat('Mix, stir and simmer. ', 40), (ARRAY['EASY','MEDIUM','HARD'])[1 + g % 3]::difficulty, 10 + g % 50
+                FROM generate_series(1, ?) g
+                """, RECIPES);
+
+        jdbcTemplate.update("""
+                INSERT INTO ingredient (name, quantity, unit, recipe_id)
+                SELECT (ARRAY['Egg','Flour','Sugar','Butter','Milk','Salt','Pepper','Garlic','Onion','Tomato'])[1 + (r.id + g) % 10] || ' ' || g,
+                       g, 'G', r.id
+                FROM recipe r CROSS JOIN generate_series(1, ?) g
+                """, INGREDIENTS_PER_RECIPE);
+
+        jdbcTemplate.execute("ANALYZE recipe");
+        jdbcTemplate.execute("ANALYZE ingredient");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE ingredient, recipe");
+    }
+
+    @Test
+    void existsSpecification_shouldReturnSamePageFasterThanJoinSpecification() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("name"));
+
+        Page<Recipe> joinPage = recipeRepository.findAll(RecipeSpecifications.searchRecipe(SEARCH), pageable);
+        Page<Recipe> existsPage = recipeRepository.findAll(RecipeSpecifications.searchRecipeWithExists(SEARCH), pageable);
+
+        assertThat(existsPage.getTotalElements(), equalTo(joinPage.getTotalElements()));
+        assertThat(ids(existsPage), equalTo(ids(joinPage)));
+
+        long joinMedian = medianNanos(RecipeSpecifications.searchRecipe(SEARCH), pageable);
+        long existsMedian = medianNanos(RecipeSpecifications.searchRecipeWithExists(SEARCH), pageable);
+
+        System.out.println("JOIN + DISTINCT plan:");
+        explain(JOIN_SQL).forEach(System.out::println);
+        System.out.println("EXISTS plan:");
+        explain(EXISTS_SQL).forEach(System.out::println);
+        System.out.printf("page + count median over %d ingredients: join=%.1f ms, exists=%.1f ms%n",
+                RECIPES * INGREDIENTS_PER_RECIPE, joinMedian / 1_000_000.0, existsMedian / 1_000_000.0);
+
+        assertThat(existsMedian, lessThan(joinMedian));
+    }
+
+    private long medianNanos(Specification<Recipe> specification, Pageable pageable) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            recipeRepository.findAll(specification, pageable);
+        }
+
+        List<Long> timings = new ArrayList<>();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            recipeRepository.findAll(specification, pageable);
+            timings.add(System.nanoTime() - start);
+        }
+
+        Collections.sort(timings);
+        return timings.get(ITERATIONS / 2);
+    }
+
+    private List<String> explain(String sql) {
+        return jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class);
+    }
+
+    private static List<Long> ids(Page<Recipe> page) {
+        return page.getContent().stream().map(Recipe::getId).toList();
+    }
+}
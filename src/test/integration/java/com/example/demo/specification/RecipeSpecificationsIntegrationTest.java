@@ -6,25 +6,42 @@ import com.example.demo.entity.Recipe;
 import com.example.demo.repository.RecipeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.demo.specification.CapturingStatementInspector"
+)
 @Import(TestcontainersConfiguration.class)
 class RecipeSpecificationsIntegrationTest {
 
+    private static final String SEARCH = "cabbage";
+
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void setUp() {
         recipeRepository.deleteAll();
@@ -98,4 +115,143 @@ class RecipeSpecificationsIntegrationTest {
 
         assertThat(results.size(), equalTo(expectedCount));
     }
+
+    @ParameterizedTest(name = "search = {0}, expectedName = {1}")
+    @CsvSource({
+            "Curry, Curry",
+            "Egg, Curry",
+            "EASY, Salad",
+    })
+    void searchRecipeWithExists_shouldFindByMultipleFields(String search, String expectedName) {
+        Specification<Recipe> specification = RecipeSpecifications.searchRecipeWithExists(search);
+        List<Recipe> results = recipeRepository.findAll(specification);
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.getFirst().getName(), equalTo(expectedName));
+    }
+
+    @ParameterizedTest(name = "search = {0}, expectedCount = {1}")
+    @CsvSource({
+            "Curry, 1",
+            "EASY, 1",
+            "Cabbage, 1",
+            "HARD, 0"
+    })
+    void searchRecipeWithExists_shouldReturnExpectedNumberOfMatches(String search, int expectedCount) {
+        Specification<Recipe> specification = RecipeSpecifications.searchRecipeWithExists(search);
+        List<Recipe> results = recipeRepository.findAll(specification);
+
+        assertThat(results.size(), equalTo(expectedCount));
+    }
+
+    @Test
+    void searchRecipeWithExists_shouldReturnRecipeOnce_whenSeveralIngredientsMatch() {
+        Recipe recipe = Recipe.builder()
+                .name("Omelette")
+                .description("Whisk and fry...")
+                .difficulty(Recipe.Difficulty.HARD)
+                .preparationTime(5)
+                .build();
+
+        recipe.setIngredients(List.of(
+                Ingredient.builder().name("Egg white").quantity(2.0).unit(Ingredient.Unit.PIECE).recipe(recipe).build(),
+                Ingredient.builder().name("Egg yolk").quantity(2.0).unit(Ingredient.Unit.PIECE).recipe(recipe).build()
+        ));
+
+        recipeRepository.save(recipe);
+
+        Page<Recipe> results = recipeRepository.findAll(
+                RecipeSpecifications.searchRecipeWithExists("egg"),
+                PageRequest.of(0, 10, Sort.by("name"))
+        );
+
+        assertThat(results.getTotalElements(), equalTo(2L));
+        assertThat(results.getContent().stream().map(Recipe::getName).toList(), contains("Curry", "Omelette"));
+    }
+
+    @ParameterizedTest(name = "search = {0}, expectedName = {1}")
+    @CsvSource({
+            "Curry, Curry",
+            "Egg, Curry",
+            "EASY, Salad",
+    })
+    void searchRecipeWithTrigramIndexes_shouldFindByMultipleFields(String search, String expectedName) {
+        Specification<Recipe> specification = RecipeSpecifications.searchRecipeWithTrigramIndexes(search);
+        List<Recipe> results = recipeRepository.findAll(specification);
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.getFirst().getName(), equalTo(expectedName));
+    }
+
+    @ParameterizedTest(name = "search = {0}, expectedCount = {1}")
+    @CsvSource({
+            "Curry, 1",
+            "EASY, 1",
+            "Cabbage, 1",
+            "HARD, 0"
+    })
+    void searchRecipeWithTrigramIndexes_shouldReturnExpectedNumberOfMatches(String search, int expectedCount) {
+        Specification<Recipe> specification = RecipeSpecifications.searchRecipeWithTrigramIndexes(search);
+        List<Recipe> results = recipeRepository.findAll(specification);
+
+        assertThat(results.size(), equalTo(expectedCount));
+    }
+
+    @Test
+    void searchRecipeWithTrigramIndexes_shouldReturnRecipeOnce_whenSeveralFieldsMatch() {
+        Recipe recipe = Recipe.builder()
+                .name("Egg fried rice")
+                .description("Fry rice, add eggs...")
+                .difficulty(Recipe.Difficulty.HARD)
+                .preparationTime(15)
+                .build();
+
+        recipe.setIngredients(List.of(
+                Ingredient.builder().name("Egg").quantity(2.0).unit(Ingredient.Unit.PIECE).recipe(recipe).build(),
+                Ingredient.builder().name("Egg yolk").quantity(1.0).unit(Ingredient.Unit.PIECE).recipe(recipe).build()
+        ));
+
+        recipeRepository.save(recipe);
+
+        Page<Recipe> results = recipeRepository.findAll(
+                RecipeSpecifications.searchRecipeWithTrigramIndexes("egg"),
+                PageRequest.of(0, 10, Sort.by("name"))
+        );
+
+        assertThat(results.getTotalElements(), equalTo(2L));
+        assertThat(results.getContent().stream().map(Recipe::getName).toList(), contains("Curry", "Egg fried rice"));
+    }
+
+    @Test
+    void searchRecipeWithTrigramIndexes_shouldUseTrigramIndexes() {
+        String plan = explain(RecipeSpecifications.searchRecipeWithTrigramIndexes(SEARCH));
+
+        assertThat(plan, containsString("idx_recipe_name_trgm"));
+        assertThat(plan, containsString("idx_ingredient_name_trgm"));
+    }
+
+    @Test
+    void searchRecipeWithExists_shouldProbeIngredientsByRecipeId() {
+        String plan = explain(RecipeSpecifications.searchRecipeWithExists(SEARCH));
+
+        assertThat(plan, containsString("idx_ingredient_recipe_id"));
+    }
+
+    private String explain(Specification<Recipe> specification) {
+        CapturingStatementInspector.clear();
+        recipeRepository.findAll(specification);
+        String sql = CapturingStatementInspector.statements().getLast();
+
+        // With two rows any plan is cheap; leaving only bitmap scans keeps a full scan of a sort index from winning.
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_indexonlyscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + bindParameters(sql, "'%" + SEARCH + "%'"), String.class));
+        });
+    }
+
+    private static String bindParameters(String sql, String literal) {
+        return sql.replace("?", literal);
+    }
 }
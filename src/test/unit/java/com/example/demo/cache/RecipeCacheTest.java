@@ -0,0 +1,130 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.RecipeChangedEvent;
+import com.example.demo.models.RecipeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private RecipeCache recipeCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recipeCache = new RecipeCache(meterRegistry, 2, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void get_shouldLoadOnce_andServeFromCache() {
+        RecipeResponse first = recipeCache.get(1L, id -> new RecipeResponse().id(id).name("Curry"));
+        RecipeResponse second = recipeCache.get(1L, id -> fail("should be served from cache"));
+
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "recipes").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "recipes").tag("result", "miss").functionCounter().count());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "recipes").gauge().value());
+        assertNotNull(meterRegistry.get("cache.evictions").tag("cache", "recipes").functionCounter());
+        assertEquals(1.0, meterRegistry.get("cache.loads").tag("cache", "recipes").functionTimer().count());
+    }
+
+    @Test
+    void onRecipeChanged_shouldDropCachedRecipe() {
+        recipeCache.get(1L, id -> new RecipeResponse().id(id).name("Curry"));
+
+        recipeCache.onRecipeChanged(new RecipeChangedEvent(1L));
+
+        assertEquals("Salad", recipeCache.get(1L, id -> new RecipeResponse().id(id).name("Salad")).getName());
+    }
+
+    @Test
+    void onRecipeChanged_shouldDiscardInFlightLoad_soStaleValueIsNotKept() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<RecipeResponse> staleLoad = CompletableFuture.supplyAsync(() -> recipeCache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return new RecipeResponse().id(id).name("Before update");
+        }));
+
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> invalidation = CompletableFuture.runAsync(() -> recipeCache.onRecipeChanged(new RecipeChangedEvent(1L)));
+        release.countDown();
+
+        staleLoad.get(5, TimeUnit.SECONDS);
+        invalidation.get(5, TimeUnit.SECONDS);
+
+        assertEquals("After update", recipeCache.get(1L, id -> new RecipeResponse().id(id).name("After update")).getName());
+    }
+
+    @Test
+    void get_shouldLetConcurrentCallersWaitForInFlightLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<RecipeResponse> first = CompletableFuture.supplyAsync(() -> recipeCache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return new RecipeResponse().id(id).name("Curry");
+        }));
+
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<RecipeResponse> second = CompletableFuture.supplyAsync(() -> recipeCache.get(1L, id -> fail("should wait for the first load")));
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void get_shouldRethrowLoaderException_andNotCacheIt() {
+        assertThrows(IllegalStateException.class, () -> recipeCache.get(1L, id -> {
+            throw new IllegalStateException("not found");
+        }));
+
+        assertNull(recipeCache.getIfPresent(1L));
+        assertEquals("Curry", recipeCache.get(1L, id -> new RecipeResponse().id(id).name("Curry")).getName());
+    }
+
+    @Test
+    void get_shouldLetWaitersLoadOnTheirOwn_whenInFlightLoadFails() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<RecipeResponse> failing = CompletableFuture.supplyAsync(() -> recipeCache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalStateException("not found");
+        }));
+
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<RecipeResponse> waiting = CompletableFuture.supplyAsync(() -> recipeCache.get(1L, id -> new RecipeResponse().id(id).name("Curry")));
+        release.countDown();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals("Curry", waiting.get(5, TimeUnit.SECONDS).getName());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
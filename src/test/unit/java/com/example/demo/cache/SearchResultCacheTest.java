@@ -0,0 +1,117 @@
+package com.example.demo.cache;
+
+import com.example.demo.cache.SearchResultCache.SearchQuery;
+import com.example.demo.event.RecipeChangedEvent;
+import com.example.demo.models.PaginatedRecipeResponse;
+import com.example.demo.models.RecipeListItemResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private final AtomicInteger searches = new AtomicInteger();
+
+    private final Supplier<PaginatedRecipeResponse> search = () -> new PaginatedRecipeResponse()
+            .content(List.of(new RecipeListItemResponse().id((long) searches.incrementAndGet())));
+
+    @Test
+    void get_shouldShareEntry_forQueriesThatNormalizeToTheSameTerm() {
+        SearchResultCache cache = cache(true, 100);
+
+        PaginatedRecipeResponse first = cache.get(query("egg curry"), search);
+        PaginatedRecipeResponse second = cache.get(query("  Egg   CURRY "), search);
+
+        assertSame(first, second);
+        assertEquals(1, searches.get());
+    }
+
+    @Test
+    void get_shouldKeepSeparateEntries_forDifferentPages() {
+        SearchResultCache cache = cache(true, 100);
+
+        cache.get(new SearchQuery("egg", null, 0, 10, "name", "asc", "exact", "full"), search);
+        cache.get(new SearchQuery("egg", null, 1, 10, "name", "asc", "exact", "full"), search);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void get_shouldSearchAgain_afterRecipeChanged() {
+        SearchResultCache cache = cache(true, 100);
+
+        PaginatedRecipeResponse before = cache.get(query("egg"), search);
+        cache.onRecipeChanged(new RecipeChangedEvent(1L));
+        PaginatedRecipeResponse after = cache.get(query("egg"), search);
+
+        assertNotSame(before, after);
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void get_shouldAlwaysSearch_whenDisabled() {
+        SearchResultCache cache = cache(false, 100);
+
+        cache.get(query("egg"), search);
+        cache.get(query("egg"), search);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void get_shouldShareEntry_forAnySpellingOfTheSameView() {
+        SearchResultCache cache = cache(true, 100);
+
+        PaginatedRecipeResponse full = cache.get(new SearchQuery("egg", null, 0, 10, "name", "asc", "exact", "full"), search);
+        PaginatedRecipeResponse unknown = cache.get(new SearchQuery("egg", null, 0, 10, "name", "asc", "exact", "anything"), search);
+        PaginatedRecipeResponse summary = cache.get(new SearchQuery("egg", null, 0, 10, "name", "asc", "exact", "summary"), search);
+        PaginatedRecipeResponse upperCaseSummary = cache.get(new SearchQuery("egg", null, 0, 10, "name", "asc", "exact", "SUMMARY"), search);
+
+        assertSame(full, cache.get(new SearchQuery("egg", null, 0, 10, "name", "asc", "exact", "FULL"), search));
+        assertSame(full, unknown);
+        assertSame(summary, upperCaseSummary);
+        assertNotSame(full, summary);
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void get_shouldShareEntry_forEquivalentSortAndCountParameters() {
+        SearchResultCache cache = cache(true, 100);
+
+        PaginatedRecipeResponse first = cache.get(new SearchQuery("egg", "like", 0, 10, "name", "asc", "exact", "full"), search);
+
+        assertSame(first, cache.get(new SearchQuery("egg", "LIKE", 0, 10, null, "ASC", "Exact", "full"), search));
+        assertSame(first, cache.get(new SearchQuery("egg", null, 0, 10, "name", null, null, "full"), search));
+        assertNotSame(first, cache.get(new SearchQuery("egg", "FullText", 0, 10, "name", "asc", "exact", "full"), search));
+        assertNotSame(first, cache.get(new SearchQuery("egg", "like", 0, 10, "name", "DESC", "exact", "full"), search));
+        assertNotSame(first, cache.get(new SearchQuery("egg", "like", 0, 10, "name", "asc", "Estimate", "full"), search));
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void searchQuery_shouldCanonicalizeParameters() {
+        SearchQuery query = new SearchQuery("egg", "FULLTEXT", 0, 10, null, "Desc", "NONE", "Summary");
+
+        assertEquals(new SearchQuery("egg", "fulltext", 0, 10, "name", "desc", "none", "summary"), query);
+        assertEquals("like", new SearchQuery(null, "fulltext", 0, 10, null, null, null, null).searchMode());
+    }
+
+    @Test
+    void searchQuery_shouldNormalizeMissingTermToEmpty() {
+        assertEquals("", query(null).search());
+    }
+
+    private static SearchQuery query(String search) {
+        return new SearchQuery(search, null, 0, 10, "name", "asc", "exact", "full");
+    }
+
+    private static SearchResultCache cache(boolean enabled, long maxRecipes) {
+        return new SearchResultCache(new SimpleMeterRegistry(), enabled, maxRecipes, Duration.ofMinutes(1));
+    }
+}
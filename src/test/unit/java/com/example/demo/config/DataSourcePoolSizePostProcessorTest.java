@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataSourcePoolSizePostProcessorTest {
+
+    private final DataSourcePoolSizePostProcessor postProcessor = new DataSourcePoolSizePostProcessor();
+
+    @Test
+    void postProcessEnvironment_shouldSizePoolFromCores_whenPoolSizeIsNotSet() {
+        MockEnvironment environment = new MockEnvironment().withProperty("recipes.datasource.pool-size", "0");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals(DataSourcePoolSizePostProcessor.poolSizeForCores(Runtime.getRuntime().availableProcessors()),
+                environment.getProperty(DataSourcePoolSizePostProcessor.MAXIMUM_POOL_SIZE, Integer.class));
+    }
+
+    @Test
+    void postProcessEnvironment_shouldUseConfiguredPoolSize() {
+        MockEnvironment environment = new MockEnvironment().withProperty("recipes.datasource.pool-size", "4");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals(4, environment.getProperty(DataSourcePoolSizePostProcessor.MAXIMUM_POOL_SIZE, Integer.class));
+    }
+
+    @Test
+    void postProcessEnvironment_shouldKeepExplicitMaximumPoolSize() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("recipes.datasource.pool-size", "4")
+                .withProperty(DataSourcePoolSizePostProcessor.MAXIMUM_POOL_SIZE, "7");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals(7, environment.getProperty(DataSourcePoolSizePostProcessor.MAXIMUM_POOL_SIZE, Integer.class));
+    }
+
+    @Test
+    void poolSizeForCores_shouldAllowTwoConnectionsPerCorePlusOne() {
+        assertEquals(9, DataSourcePoolSizePostProcessor.poolSizeForCores(4));
+    }
+}
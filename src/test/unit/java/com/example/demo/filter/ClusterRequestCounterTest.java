@@ -0,0 +1,104 @@
+package com.example.demo.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClusterRequestCounterTest {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RequestCounterFilter requestCounterFilter;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        requestCounterFilter = new RequestCounterFilter();
+        jdbcTemplate = mock(JdbcTemplate.class);
+    }
+
+    @Test
+    void flush_shouldUpsertDrainedCounts_andRefreshClusterCount() throws ServletException, IOException {
+        ClusterRequestCounter counter = new ClusterRequestCounter(requestCounterFilter, jdbcTemplate, true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(42L);
+
+        countRequest();
+        counter.flush();
+
+        verify(jdbcTemplate).update(contains("INSERT INTO request_counter"), any(PreparedStatementSetter.class));
+        assertEquals(42L, counter.getClusterCount());
+        assertTrue(requestCounterFilter.drainUnflushedCounts().isEmpty());
+    }
+
+    @Test
+    void flush_shouldOnlyRefreshClusterCount_whenNothingWasCounted() {
+        ClusterRequestCounter counter = new ClusterRequestCounter(requestCounterFilter, jdbcTemplate, true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(7L);
+
+        counter.flush();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        assertEquals(7L, counter.getClusterCount());
+    }
+
+    @Test
+    void flush_shouldKeepCountsForNextFlush_whenUpsertFails() throws ServletException, IOException {
+        ClusterRequestCounter counter = new ClusterRequestCounter(requestCounterFilter, jdbcTemplate, true);
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        countRequest();
+        countRequest();
+        counter.flush();
+
+        assertEquals(Map.of("GET /recipe", 2L), requestCounterFilter.drainUnflushedCounts());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void flushOnShutdown_shouldFlushCountsWhenContextCloses() throws ServletException, IOException {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(ClusterRequestCounter.class, () -> new ClusterRequestCounter(requestCounterFilter, jdbcTemplate, true));
+            context.refresh();
+
+            countRequest();
+        }
+
+        verify(jdbcTemplate).update(contains("INSERT INTO request_counter"), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void scheduledFlush_shouldNotTouchDatabase_whenDisabled() throws ServletException, IOException {
+        ClusterRequestCounter counter = new ClusterRequestCounter(requestCounterFilter, jdbcTemplate, false);
+
+        countRequest();
+        counter.scheduledFlush();
+        counter.flushOnShutdown();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void countRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/recipe");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/recipe");
+
+        requestCounterFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(60);
+
+    @Test
+    void snapshot_shouldReportQuantilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(WINDOW, 6);
+
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros, 0);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(0);
+
+        assertEquals(100_000, snapshot.count());
+        assertEquals(50_000, snapshot.p50(), 50_000 * 0.016);
+        assertEquals(95_000, snapshot.p95(), 95_000 * 0.016);
+        assertEquals(99_000, snapshot.p99(), 99_000 * 0.016);
+        assertEquals(100_000, snapshot.max());
+    }
+
+    @Test
+    void snapshot_shouldOnlyCoverRollingWindow() {
+        LatencyHistogram histogram = new LatencyHistogram(WINDOW, 6);
+
+        histogram.record(5_000, 0);
+        histogram.record(100, TimeUnit.SECONDS.toNanos(30));
+
+        assertEquals(2, histogram.snapshot(TimeUnit.SECONDS.toNanos(55)).count());
+        assertEquals(5_000, histogram.snapshot(TimeUnit.SECONDS.toNanos(55)).max());
+
+        LatencyHistogram.Snapshot later = histogram.snapshot(TimeUnit.SECONDS.toNanos(65));
+
+        assertEquals(1, later.count());
+        assertEquals(100, later.max());
+        assertEquals(0, histogram.snapshot(TimeUnit.SECONDS.toNanos(100)).count());
+    }
+
+    @Test
+    void record_shouldReuseExpiredSlot() {
+        LatencyHistogram histogram = new LatencyHistogram(WINDOW, 6);
+
+        histogram.record(5_000, 0);
+        histogram.record(200, WINDOW);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(WINDOW);
+
+        assertEquals(1, snapshot.count());
+        assertEquals(200, snapshot.p99());
+    }
+
+    @Test
+    void record_shouldClampValuesAboveHighestTrackable() {
+        LatencyHistogram histogram = new LatencyHistogram(WINDOW, 6);
+
+        histogram.record(Long.MAX_VALUE, 0);
+
+        assertEquals(LatencyHistogram.HIGHEST_TRACKABLE_MICROS, histogram.snapshot(0).max());
+    }
+
+    @Test
+    void bucketMidpoint_shouldLieInsideBucketOfValue() {
+        for (long value = 0; value < LatencyHistogram.HIGHEST_TRACKABLE_MICROS; value = value * 3 / 2 + 1) {
+            int index = LatencyHistogram.bucketIndex(value);
+
+            assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.bucketMidpoint(index)));
+            assertTrue(LatencyHistogram.bucketIndex(value + 1) - index <= 1);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.filter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the single {@link AtomicLong} the filter used to increment with a {@link LongAdder} and with the
+ * whole {@link RequestCounterFilter} recording path, at increasing thread counts.
+ */
+@Tag("benchmark")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class RequestCounterFilterBenchmarkTest {
+
+    private static final int[] THREADS = {1, 8, 64};
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @State(Scope.Benchmark)
+    public static class SharedCounters {
+        final AtomicLong atomicLong = new AtomicLong();
+        final LongAdder longAdder = new LongAdder();
+        final RequestCounterFilter filter = new RequestCounterFilter();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRequest {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/recipe/1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        @Setup
+        public void setUp() {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/recipe/{recipeId}");
+        }
+    }
+
+    @Benchmark
+    public long atomicLong(SharedCounters counters) {
+        return counters.atomicLong.incrementAndGet();
+    }
+
+    @Benchmark
+    public void longAdder(SharedCounters counters) {
+        counters.longAdder.increment();
+    }
+
+    @Benchmark
+    public void requestCounterFilter(SharedCounters counters, ThreadRequest request) throws Exception {
+        counters.filter.doFilter(request.request, request.response, NO_OP_CHAIN);
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(RequestCounterFilterBenchmarkTest.class.getName() + "\\.(atomicLong|longAdder|requestCounterFilter)$")
+                    .threads(threads)
+                    .build();
+
+            for (RunResult result : new Runner(options).run()) {
+                System.out.printf("%2d threads  %-22s %10.1f ops/us%n", threads,
+                        result.getParams().getBenchmark().substring(RequestCounterFilterBenchmarkTest.class.getName().length() + 1),
+                        result.getPrimaryResult().getScore());
+
+                assertTrue(result.getPrimaryResult().getScore() > 0);
+            }
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.demo.filter;
 
+import com.sun.management.ThreadMXBean;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -35,4 +43,121 @@ class RequestCounterFilterTest {
 
         assertEquals(1, requestCounterFilter.getRequestCount());
     }
+
+    @Test
+    void shouldCountRequestsPerRouteTemplateAndStatusClass() throws ServletException, IOException {
+        requestCounterFilter.doFilter(request("GET", "/recipe/{recipeId}"), response(200), filterChain);
+        requestCounterFilter.doFilter(request("GET", "/recipe/{recipeId}"), response(404), filterChain);
+        requestCounterFilter.doFilter(request("POST", "/recipe"), response(201), filterChain);
+        requestCounterFilter.doFilter(request("GET", null), response(404), filterChain);
+
+        assertEquals(2, requestCounterFilter.getEndpointCounts().get("GET /recipe/{recipeId}"));
+        assertEquals(1, requestCounterFilter.getEndpointCounts().get("POST /recipe"));
+        assertEquals(1, requestCounterFilter.getEndpointCounts().get("GET " + RequestCounterFilter.UNMATCHED_ROUTE));
+        assertEquals(2, requestCounterFilter.getStatusClassCounts().get("2xx"));
+        assertEquals(2, requestCounterFilter.getStatusClassCounts().get("4xx"));
+        assertEquals(0, requestCounterFilter.getStatusClassCounts().get("5xx"));
+    }
+
+    @Test
+    void shouldCountServerError_whenChainThrows() {
+        FilterChain failingChain = (request, response) -> {
+            throw new ServletException("boom");
+        };
+
+        assertThrows(ServletException.class,
+                () -> requestCounterFilter.doFilter(request("GET", "/recipe"), response(200), failingChain));
+
+        assertEquals(1, requestCounterFilter.getStatusClassCounts().get("5xx"));
+        assertEquals(0, requestCounterFilter.getInFlightCount());
+    }
+
+    @Test
+    void shouldTrackInFlightRequests() throws ServletException, IOException {
+        AtomicLong inFlightDuringRequest = new AtomicLong();
+
+        requestCounterFilter.doFilter(request("GET", "/recipe"), response(200),
+                (request, response) -> inFlightDuringRequest.set(requestCounterFilter.getInFlightCount()));
+
+        assertEquals(1, inFlightDuringRequest.get());
+        assertEquals(0, requestCounterFilter.getInFlightCount());
+    }
+
+    @Test
+    void shouldRecordLatencyPerRouteTemplate() throws ServletException, IOException {
+        requestCounterFilter.doFilter(request("GET", "/recipe/{recipeId}"), response(200),
+                (request, response) -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20)));
+
+        LatencyHistogram.Snapshot snapshot = requestCounterFilter.getLatencyStats().get("GET /recipe/{recipeId}");
+
+        assertEquals(1, snapshot.count());
+        assertTrue(snapshot.max() >= TimeUnit.MILLISECONDS.toMicros(20));
+    }
+
+    @Test
+    void shouldRecordAsyncRequest_whenResponseCompletes() throws ServletException, IOException {
+        MockHttpServletRequest request = request("GET", "/recipe/export");
+        request.setAsyncSupported(true);
+
+        requestCounterFilter.doFilter(request, response(200), (servletRequest, servletResponse) -> servletRequest.startAsync(servletRequest, servletResponse));
+
+        assertEquals(1, requestCounterFilter.getInFlightCount());
+        assertNull(requestCounterFilter.getLatencyStats().get("GET /recipe/export"));
+
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        request.getAsyncContext().complete();
+
+        LatencyHistogram.Snapshot snapshot = requestCounterFilter.getLatencyStats().get("GET /recipe/export");
+
+        assertEquals(0, requestCounterFilter.getInFlightCount());
+        assertEquals(1, requestCounterFilter.getStatusClassCounts().get("2xx"));
+        assertEquals(1, snapshot.count());
+        assertTrue(snapshot.max() >= TimeUnit.MILLISECONDS.toMicros(20));
+    }
+
+    @Test
+    void doFilter_shouldNotAllocate_onceEndpointIsKnown() throws ServletException, IOException {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MockHttpServletRequest request = request("GET", "/recipe/{recipeId}");
+        MockHttpServletResponse response = response(200);
+        FilterChain noOpChain = (servletRequest, servletResponse) -> { };
+
+        for (int i = 0; i < 20_000; i++) {
+            requestCounterFilter.doFilter(request, response, noOpChain);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < 100_000; i++) {
+            requestCounterFilter.doFilter(request, response, noOpChain);
+        }
+
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // A single object per request would add up to at least 1.6 MB.
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes for 100000 requests");
+    }
+
+    @Test
+    void resetRequestCount_shouldClearCounters() throws ServletException, IOException {
+        requestCounterFilter.doFilter(request("GET", "/recipe"), response(200), filterChain);
+
+        requestCounterFilter.resetRequestCount();
+
+        assertEquals(0, requestCounterFilter.getRequestCount());
+        assertEquals(0, requestCounterFilter.getStatusClassCounts().get("2xx"));
+        assertTrue(requestCounterFilter.getEndpointCounts().isEmpty());
+    }
+
+    private static MockHttpServletRequest request(String method, String route) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        return request;
+    }
+
+    private static MockHttpServletResponse response(int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        return response;
+    }
 }
@@ -3,15 +3,20 @@ package com.example.demo.mapper;
 import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.Recipe;
 import com.example.demo.models.PaginatedRecipeResponse;
+import com.example.demo.models.RecipeListItemResponse;
 import com.example.demo.models.RecipeRequest;
 import com.example.demo.models.RecipeResponse;
 import com.example.demo.models.RecipeUpdateRequest;
+import com.example.demo.models.Unit;
+import com.example.demo.repository.IngredientView;
+import com.example.demo.repository.RecipeView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,10 +41,46 @@ class RecipeMapperTest {
         assertEquals("Salad", recipeResponse.getName());
     }
 
+    @Test
+    void toResponseWithIngredients_shouldUseGivenIngredientsInsteadOfCollection() {
+        Recipe recipe = Recipe.builder().id(1L).name("Salad").build();
+        Ingredient ingredient = Ingredient.builder().id(2L).name("Cabbage").quantity(200.0).unit(Ingredient.Unit.G).build();
+
+        RecipeResponse recipeResponse = recipeMapper.toResponse(recipe, List.of(ingredient));
+
+        assertEquals("Salad", recipeResponse.getName());
+        assertEquals(1, recipeResponse.getIngredients().size());
+        assertEquals("Cabbage", recipeResponse.getIngredients().getFirst().getName());
+    }
+
+    @Test
+    void toResponseView_shouldMapColumnsAndIngredients() {
+        RecipeView recipe = new RecipeView(1L, "Salad", "Chop", Recipe.Difficulty.EASY, 10, OffsetDateTime.now(), 3L,
+                List.of(new IngredientView(1L, 2L, "Cabbage", 200.0, Ingredient.Unit.G)));
+
+        RecipeListItemResponse recipeResponse = recipeMapper.toResponse(recipe);
+
+        assertEquals(1L, recipeResponse.getId());
+        assertEquals(3L, recipeResponse.getVersion());
+        assertEquals("Chop", recipeResponse.getDescription());
+        assertEquals(2L, recipeResponse.getIngredients().getFirst().getId());
+        assertEquals(Unit.G, recipeResponse.getIngredients().getFirst().getUnit());
+    }
+
+    @Test
+    void toResponseView_shouldLeaveIngredientsNull_whenNotLoaded() {
+        RecipeView recipe = new RecipeView(1L, "Salad", null, Recipe.Difficulty.EASY, null, OffsetDateTime.now(), 0L, null);
+
+        RecipeListItemResponse recipeResponse = recipeMapper.toResponse(recipe);
+
+        assertNull(recipeResponse.getDescription());
+        assertNull(recipeResponse.getIngredients());
+    }
+
     @Test
     void toResponsePage_shouldMapPagedRecipes() {
-        Recipe recipe = Recipe.builder().id(1L).name("Soup").build();
-        Page<Recipe> page = new PageImpl<>(List.of(recipe));
+        RecipeView recipe = new RecipeView(1L, "Soup", null, Recipe.Difficulty.EASY, null, OffsetDateTime.now(), 0L, null);
+        Page<RecipeView> page = new PageImpl<>(List.of(recipe));
 
         PaginatedRecipeResponse paginatedRecipeResponse = recipeMapper.toResponse(page);
 
@@ -68,6 +109,16 @@ class RecipeMapperTest {
         assertEquals(5L, recipe.getId());
     }
 
+    @Test
+    void updateFromRequest_shouldNotTouchIngredients() {
+        Ingredient ingredient = new Ingredient();
+        Recipe recipe = Recipe.builder().id(5L).ingredients(List.of(ingredient)).build();
+
+        recipeMapper.updateFromRequest(new RecipeUpdateRequest().name("Salad"), recipe);
+
+        assertNull(ingredient.getRecipe());
+    }
+
     @Test
     void linkIngredients_shouldSetRecipeInEachIngredient() {
         Recipe recipe = new Recipe();
@@ -75,7 +126,7 @@ class RecipeMapperTest {
         Ingredient ingredient2 = new Ingredient();
         recipe.setIngredients(new ArrayList<>(List.of(ingredient1, ingredient2)));
 
-        recipeMapper.linkIngredients(recipe);
+        recipeMapper.linkIngredients(new RecipeRequest(), recipe);
 
         assertSame(recipe, ingredient1.getRecipe());
         assertSame(recipe, ingredient2.getRecipe());
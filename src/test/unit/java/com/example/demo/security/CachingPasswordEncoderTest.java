@@ -0,0 +1,82 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingPasswordEncoderTest {
+
+    private PasswordEncoder bcrypt;
+    private MeterRegistry meterRegistry;
+    private CachingPasswordEncoder cachingPasswordEncoder;
+    private String encodedPassword;
+
+    @BeforeEach
+    void setUp() {
+        bcrypt = spy(new BCryptPasswordEncoder(4));
+        meterRegistry = new SimpleMeterRegistry();
+        cachingPasswordEncoder = new CachingPasswordEncoder(bcrypt, 100, Duration.ofMinutes(5), meterRegistry);
+        encodedPassword = bcrypt.encode("password");
+    }
+
+    @Test
+    void matches_shouldSkipDelegate_whenCredentialsWereAlreadyVerified() {
+        assertTrue(cachingPasswordEncoder.matches("password", encodedPassword));
+        assertTrue(cachingPasswordEncoder.matches("password", encodedPassword));
+
+        verify(bcrypt, times(1)).matches("password", encodedPassword);
+        assertEquals(1.0, cacheGets("hit"));
+        assertEquals(1.0, cacheGets("miss"));
+    }
+
+    @Test
+    void matches_shouldAlwaysUseDelegate_forWrongPassword() {
+        assertTrue(cachingPasswordEncoder.matches("password", encodedPassword));
+
+        assertFalse(cachingPasswordEncoder.matches("wrong", encodedPassword));
+        assertFalse(cachingPasswordEncoder.matches("wrong", encodedPassword));
+
+        verify(bcrypt, times(2)).matches("wrong", encodedPassword);
+        assertEquals(0.0, cacheGets("hit"));
+    }
+
+    @Test
+    void matches_shouldUseDelegate_whenStoredPasswordChanged() {
+        assertTrue(cachingPasswordEncoder.matches("password", encodedPassword));
+
+        String changedPassword = bcrypt.encode("changed");
+
+        assertFalse(cachingPasswordEncoder.matches("password", changedPassword));
+        assertTrue(cachingPasswordEncoder.matches("changed", changedPassword));
+
+        verify(bcrypt).matches("password", changedPassword);
+        verify(bcrypt).matches("changed", changedPassword);
+        assertEquals(0.0, cacheGets("hit"));
+    }
+
+    @Test
+    void matches_shouldUseDelegate_whenEncoderIsRecreated() {
+        assertTrue(cachingPasswordEncoder.matches("password", encodedPassword));
+
+        CachingPasswordEncoder recreated = new CachingPasswordEncoder(bcrypt, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        assertTrue(recreated.matches("password", encodedPassword));
+        verify(bcrypt, times(2)).matches("password", encodedPassword);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "credentials")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
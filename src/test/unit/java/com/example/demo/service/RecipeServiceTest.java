@@ -1,26 +1,45 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.RecipeCache;
+import com.example.demo.config.RecipeSearchProperties;
 import com.example.demo.entity.Ingredient;
 import com.example.demo.entity.Recipe;
+import com.example.demo.event.RecipeChangedEvent;
 import com.example.demo.exception.IngredientNotInRecipeException;
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.exception.InvalidRecipeBatchException;
+import com.example.demo.exception.InvalidRecipePatchException;
+import com.example.demo.exception.InvalidSortException;
 import com.example.demo.exception.RecipeNotFoundException;
 import com.example.demo.mapper.IngredientMapper;
 import com.example.demo.mapper.RecipeMapper;
 import com.example.demo.models.*;
+import com.example.demo.repository.IngredientView;
 import com.example.demo.repository.RecipeRepository;
+import com.example.demo.repository.RecipeView;
+import com.example.demo.specification.RecipeCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,6 +59,24 @@ class RecipeServiceTest {
     @Mock
     private IngredientMapper ingredientMapper;
 
+    @Mock
+    private RecipeValidator recipeValidator;
+
+    @Spy
+    private RecipeSearchProperties searchProperties = new RecipeSearchProperties();
+
+    @Spy
+    private RecipeCache recipeCache = new RecipeCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Captor
+    private ArgumentCaptor<Page<RecipeView>> pageCaptor;
+
     @Test
     void createRecipe_shouldSaveRecipeWithIngredientsAndReturnResponse() {
         RecipeRequest recipeRequest = new RecipeRequest();
@@ -66,31 +103,88 @@ class RecipeServiceTest {
         assertEquals(1L, response.getId());
         assertEquals(1, savedRecipe.getIngredients().size());
         verify(recipeRepository).save(mappedRecipe);
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
+    }
+
+    @Test
+    void createRecipes_shouldSaveAllRecipesAndReturnIdsInOrder() {
+        RecipeRequest first = new RecipeRequest().name("First");
+        RecipeRequest second = new RecipeRequest().name("Second");
+        Recipe firstRecipe = Recipe.builder().name("First").build();
+        Recipe secondRecipe = Recipe.builder().name("Second").build();
+
+        when(recipeMapper.toEntity(first)).thenReturn(firstRecipe);
+        when(recipeMapper.toEntity(second)).thenReturn(secondRecipe);
+        when(recipeRepository.saveAll(List.of(firstRecipe, secondRecipe))).thenAnswer(invocation -> {
+            firstRecipe.setId(1L);
+            secondRecipe.setId(2L);
+            return List.of(firstRecipe, secondRecipe);
+        });
+
+        RecipeBatchResponse response = recipeService.createRecipes(List.of(first, second));
+
+        assertEquals(List.of(1L, 2L), response.getIds());
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(2L));
+    }
+
+    @Test
+    void createRecipes_shouldReportViolationsByIndex_andSaveNothing() {
+        RecipeRequest valid = new RecipeRequest().name("Valid");
+        RecipeRequest invalid = new RecipeRequest().name("");
+        Recipe validRecipe = Recipe.builder().name("Valid").build();
+        Recipe invalidRecipe = Recipe.builder().name("").build();
+
+        when(recipeMapper.toEntity(valid)).thenReturn(validRecipe);
+        when(recipeMapper.toEntity(invalid)).thenReturn(invalidRecipe);
+        when(recipeValidator.validate(validRecipe)).thenReturn(Map.of());
+        when(recipeValidator.validate(invalidRecipe)).thenReturn(Map.of("name", "Recipe name must not be empty"));
+
+        InvalidRecipeBatchException exception = assertThrows(InvalidRecipeBatchException.class,
+                () -> recipeService.createRecipes(List.of(valid, invalid)));
+
+        assertEquals(Map.of("[1].name", "Recipe name must not be empty"), exception.getErrors());
+        verify(recipeRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void deleteRecipe_shouldThrowException_whenRecipeDoesNotExist() {
         Long recipeId = 1L;
-        when(recipeRepository.existsById(recipeId)).thenReturn(false);
+        when(recipeRepository.deleteWithIngredientsById(recipeId)).thenReturn(0);
 
-        verify(recipeRepository, never()).deleteById(any());
         assertThrows(RecipeNotFoundException.class, () -> recipeService.deleteRecipeById(recipeId));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void deleteRecipe_shouldDeleteRecipe_whenRecipeExists() {
         Long recipeId = 1L;
-        when(recipeRepository.existsById(recipeId)).thenReturn(true);
+        when(recipeRepository.deleteWithIngredientsById(recipeId)).thenReturn(1);
 
         recipeService.deleteRecipeById(recipeId);
 
-        verify(recipeRepository, times(1)).deleteById(recipeId);
+        verify(recipeRepository, never()).existsById(any());
+        verify(recipeRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(recipeId));
+    }
+
+    @Test
+    void deleteRecipes_shouldDeleteInOneStatement_andReportDeletedIds() {
+        when(recipeRepository.deleteWithIngredientsByIdIn(new Long[]{5L, 1L, 9L})).thenReturn(List.of(5L, 1L));
+
+        RecipeDeleteResponse response = recipeService.deleteRecipesById(List.of(5L, 1L, 9L, 5L));
+
+        assertEquals(List.of(1L, 5L), response.getIds());
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(5L));
+        verifyNoMoreInteractions(eventPublisher);
     }
 
     @Test
     void getRecipe_shouldThrowException_whenRecipeDoesNotExist() {
         Long recipeId = 1L;
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
+        when(recipeRepository.findWithIngredientsById(recipeId)).thenReturn(Optional.empty());
 
         assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipe(recipeId));
     }
@@ -100,7 +194,7 @@ class RecipeServiceTest {
         Long recipeId = 1L;
         Recipe recipe = Recipe.builder().id(recipeId).build();
 
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
+        when(recipeRepository.findWithIngredientsById(recipeId)).thenReturn(Optional.of(recipe));
         when(recipeMapper.toResponse(recipe)).thenReturn(new RecipeResponse().id(recipeId));
 
         RecipeResponse response = recipeService.getRecipe(recipeId);
@@ -111,62 +205,304 @@ class RecipeServiceTest {
         assertEquals(recipeId, response.getId());
     }
 
+    @Test
+    void getRecipe_shouldServeCachedRecipe_untilRecipeChanges() {
+        Long recipeId = 1L;
+        Recipe recipe = Recipe.builder().id(recipeId).build();
+
+        when(recipeRepository.findWithIngredientsById(recipeId)).thenReturn(Optional.of(recipe));
+        when(recipeMapper.toResponse(recipe)).thenReturn(new RecipeResponse().id(recipeId));
+
+        RecipeResponse first = recipeService.getRecipe(recipeId);
+        RecipeResponse second = recipeService.getRecipe(recipeId);
+
+        recipeCache.onRecipeChanged(new RecipeChangedEvent(recipeId));
+        recipeService.getRecipe(recipeId);
+
+        assertSame(first, second);
+        verify(recipeRepository, times(2)).findWithIngredientsById(recipeId);
+    }
+
+    @Test
+    void getRecipe_shouldNotCacheMissingRecipe() {
+        Long recipeId = 1L;
+        when(recipeRepository.findWithIngredientsById(recipeId)).thenReturn(Optional.empty());
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipe(recipeId));
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipe(recipeId));
+
+        verify(recipeRepository, times(2)).findWithIngredientsById(recipeId);
+    }
+
+    @Test
+    void getRecipeVersion_shouldReadVersionFromCachedRecipe() {
+        Long recipeId = 1L;
+        Recipe recipe = Recipe.builder().id(recipeId).version(3L).build();
+
+        when(recipeRepository.findWithIngredientsById(recipeId)).thenReturn(Optional.of(recipe));
+        when(recipeMapper.toResponse(recipe)).thenReturn(new RecipeResponse().id(recipeId).version(3L));
+
+        recipeService.getRecipe(recipeId);
+
+        assertEquals(3L, recipeService.getRecipeVersion(recipeId));
+        verify(recipeRepository, never()).findVersionById(recipeId);
+    }
+
+    @Test
+    void getRecipeVersion_shouldQueryVersion_whenRecipeIsNotCached() {
+        Long recipeId = 1L;
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.of(5L));
+
+        assertEquals(5L, recipeService.getRecipeVersion(recipeId));
+        verify(recipeRepository, never()).findWithIngredientsById(recipeId);
+    }
+
+    @Test
+    void getRecipeVersion_shouldThrowException_whenRecipeDoesNotExist() {
+        Long recipeId = 1L;
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.empty());
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipeVersion(recipeId));
+    }
+
     @Test
     void searchRecipes_shouldReturnPaginatedResponse_whenSearchIsNull() {
         Pageable pageable = PageRequest.of(0, 2);
-        Recipe recipe1 = Recipe.builder().id(1L).build();
-        Recipe recipe2 = Recipe.builder().id(2L).build();
 
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe1, recipe2), pageable, 2);
-        when(recipeRepository.findAll(any(Pageable.class))).thenReturn(recipePage);
-        when(recipeMapper.toResponse(recipePage)).thenReturn(new PaginatedRecipeResponse().totalElements(2));
+        Page<RecipeView> recipePage = new PageImpl<>(List.of(view(1L, null), view(2L, null)), pageable, 2);
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), eq(true))).thenReturn(recipePage);
+        when(recipeMapper.toResponse(ArgumentMatchers.<Page<RecipeView>>any())).thenReturn(new PaginatedRecipeResponse().totalElements(2));
 
-        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 2, null, null, null);
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 2, null, null, null, null, null, null, null);
 
         assertNotNull(response);
         assertEquals(2, response.getTotalElements());
     }
 
+    @Test
+    void searchRecipes_shouldLoadIngredientsForWholePageInOneQuery_andKeepPageOrder() {
+        Pageable pageable = PageRequest.of(0, 2);
+        IngredientView ingredient10 = new IngredientView(1L, 10L, "Egg", 1.0, Ingredient.Unit.PIECE);
+        IngredientView ingredient20 = new IngredientView(2L, 20L, "Rice", 100.0, Ingredient.Unit.G);
+        IngredientView ingredient21 = new IngredientView(2L, 21L, "Salt", 1.0, Ingredient.Unit.G);
+
+        Page<RecipeView> recipePage = new PageImpl<>(List.of(view(2L, null), view(1L, null)), pageable, 2);
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), eq(true))).thenReturn(recipePage);
+        when(recipeRepository.findIngredientViewsByRecipeIdIn(List.of(2L, 1L))).thenReturn(List.of(ingredient10, ingredient20, ingredient21));
+
+        recipeService.searchRecipes(0, 2, null, null, null, null, null, null, null);
+
+        verify(recipeMapper).toResponse(pageCaptor.capture());
+        verify(recipeRepository, times(1)).findIngredientViewsByRecipeIdIn(List.of(2L, 1L));
+
+        assertEquals(List.of(2L, 1L), pageCaptor.getValue().map(RecipeView::id).getContent());
+        assertEquals(List.of(ingredient20, ingredient21), pageCaptor.getValue().getContent().get(0).ingredients());
+        assertEquals(List.of(ingredient10), pageCaptor.getValue().getContent().get(1).ingredients());
+        assertEquals(2, pageCaptor.getValue().getTotalElements());
+    }
+
+    @Test
+    void searchRecipes_shouldNotLoadIngredients_whenPageIsEmpty() {
+        Page<RecipeView> recipePage = new PageImpl<>(List.of());
+
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
+
+        recipeService.searchRecipes(0, 10, null, null, null, null, null, null, null);
+
+        verify(recipeRepository, never()).findIngredientViewsByRecipeIdIn(any());
+    }
+
+    @Test
+    void searchRecipes_shouldSkipDescriptionAndIngredients_whenViewIsSummary() {
+        Page<RecipeView> recipePage = new PageImpl<>(List.of(view(1L, null)), PageRequest.of(0, 2), 1);
+
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), eq(false))).thenReturn(recipePage);
+
+        recipeService.searchRecipes(0, 2, null, null, null, null, null, null, "summary");
+
+        verify(recipeMapper).toResponse(pageCaptor.capture());
+        verify(recipeRepository, never()).findIngredientViewsByRecipeIdIn(any());
+
+        assertNull(pageCaptor.getValue().getContent().getFirst().ingredients());
+    }
+
     @Test
     void searchRecipes_shouldTreatEmptySearchAsNull() {
 
-        Page<Recipe> recipePage = new PageImpl<>(List.of());
+        Page<RecipeView> recipePage = new PageImpl<>(List.of());
 
-        when(recipeRepository.findAll(any(Pageable.class))).thenReturn(recipePage);
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
         when(recipeMapper.toResponse(recipePage)).thenReturn(new PaginatedRecipeResponse());
 
-        recipeService.searchRecipes(0, 10, "   ", null, null);
+        recipeService.searchRecipes(0, 10, "   ", null, null, null, null, null, null);
 
-        verify(recipeRepository).findAll(any(Pageable.class));
+        verify(recipeRepository).findViews(isNull(), any(Pageable.class), anyBoolean());
     }
 
     @Test
     void searchRecipes_shouldReturnFilteredPaginatedResponse() {
         Pageable pageable = PageRequest.of(0, 2);
-        Recipe recipe1 = Recipe.builder().id(1L).build();
-        Recipe recipe2 = Recipe.builder().id(2L).build();
 
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe1, recipe2), pageable, 2);
-        when(recipeRepository.findAll(ArgumentMatchers.<Specification<Recipe>>any(), any(Pageable.class))).thenReturn(recipePage);
-        when(recipeMapper.toResponse(recipePage)).thenReturn(new PaginatedRecipeResponse().totalElements(2));
+        Page<RecipeView> recipePage = new PageImpl<>(List.of(view(1L, null), view(2L, null)), pageable, 2);
+        when(recipeRepository.findViews(ArgumentMatchers.<Specification<Recipe>>notNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
+        when(recipeMapper.toResponse(ArgumentMatchers.<Page<RecipeView>>any())).thenReturn(new PaginatedRecipeResponse().totalElements(2));
 
-        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 2, "test", null, null);
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 2, "test", null, null, null, null, null, null);
 
         assertNotNull(response);
         assertEquals(2, response.getTotalElements());
     }
 
+    @Test
+    void searchRecipes_shouldUseFullTextSearch_whenSearchModeIsFulltext() {
+        Page<RecipeView> recipePage = new PageImpl<>(List.of());
+
+        when(recipeRepository.searchFullText(eq("egg curry"), any(Pageable.class), eq(true))).thenReturn(recipePage);
+        when(recipeMapper.toResponse(ArgumentMatchers.<Page<RecipeView>>any())).thenReturn(new PaginatedRecipeResponse());
+
+        recipeService.searchRecipes(1, 5, " egg curry ", "fulltext", "name", "desc", null, null, null);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(recipeRepository).searchFullText(eq("egg curry"), captor.capture(), eq(true));
+        verify(recipeRepository, never()).findViews(any(), any(Pageable.class), anyBoolean());
+
+        assertEquals(1, captor.getValue().getPageNumber());
+        assertEquals(5, captor.getValue().getPageSize());
+        assertTrue(captor.getValue().getSort().isUnsorted());
+    }
+
+    @Test
+    void searchRecipes_shouldReturnNextCursor_whenMoreRecipesExist() {
+        Page<RecipeView> recipePage = new PageImpl<>(List.of(view(1L, "Curry"), view(2L, "Salad")), PageRequest.of(0, 2), 3);
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
+        when(recipeMapper.toResponse(ArgumentMatchers.<Page<RecipeView>>any())).thenReturn(new PaginatedRecipeResponse());
+
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 2, null, null, "name", "desc", null, null, null);
+
+        RecipeCursor cursor = RecipeCursor.decode(response.getNextCursor());
+
+        assertEquals(new RecipeCursor("name", Sort.Direction.DESC, 2L, "Salad"), cursor);
+    }
+
+    @Test
+    void searchRecipes_shouldSeekWithoutCounting_whenCursorIsGiven() {
+        String after = new RecipeCursor("name", Sort.Direction.ASC, 2L, "Salad").encode();
+        Slice<RecipeView> recipeSlice = new SliceImpl<>(List.of());
+
+        when(recipeRepository.findViewSlice(any(), any(Pageable.class), anyBoolean())).thenReturn(recipeSlice);
+        when(recipeMapper.toResponse(recipeSlice)).thenReturn(new PaginatedRecipeResponse());
+
+        PaginatedRecipeResponse response = recipeService.searchRecipes(0, 2, null, null, "name", "asc", after, null, null);
+
+        verify(recipeRepository, never()).findViews(any(), any(Pageable.class), anyBoolean());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void searchRecipes_shouldThrowException_whenCursorIsMalformed() {
+        assertThrows(InvalidCursorException.class,
+                () -> recipeService.searchRecipes(0, 2, null, null, "name", "asc", "%%%", null, null));
+    }
+
+    @Test
+    void searchRecipes_shouldThrowException_whenCursorWasIssuedForDifferentSort() {
+        String after = new RecipeCursor("name", Sort.Direction.ASC, 2L, "Salad").encode();
+
+        assertThrows(InvalidCursorException.class,
+                () -> recipeService.searchRecipes(0, 2, null, null, "preparationTime", "asc", after, null, null));
+    }
+
+    @Test
+    void searchRecipes_shouldBreakSortTiesById() {
+        Page<RecipeView> recipePage = new PageImpl<>(List.of());
+
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
+        when(recipeMapper.toResponse(recipePage)).thenReturn(new PaginatedRecipeResponse());
+
+        recipeService.searchRecipes(0, 2, null, null, "difficulty", "desc", null, null, null);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(recipeRepository).findViews(isNull(), captor.capture(), anyBoolean());
+
+        assertEquals(
+                Sort.by(Sort.Direction.DESC, "difficulty").and(Sort.by(Sort.Direction.DESC, "id")),
+                captor.getValue().getSort()
+        );
+    }
+
+    @Test
+    void searchRecipes_shouldNotCount_whenCountIsNone() {
+        Slice<RecipeView> recipeSlice = new SliceImpl<>(List.of());
+
+        when(recipeRepository.findViewSlice(any(), any(Pageable.class), anyBoolean())).thenReturn(recipeSlice);
+        when(recipeMapper.toResponse(recipeSlice)).thenReturn(new PaginatedRecipeResponse().hasNext(false));
+
+        PaginatedRecipeResponse response = recipeService.searchRecipes(3, 10, "test", null, null, null, null, "none", null);
+
+        verify(recipeRepository, never()).findViews(any(), any(Pageable.class), anyBoolean());
+        verify(recipeRepository, never()).count();
+        assertFalse(response.getHasNext());
+        assertNull(response.getTotalElements());
+    }
+
+    @Test
+    void searchRecipes_shouldUseEstimatedCount_whenCountIsEstimateAndNoSearch() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name"));
+
+        when(recipeRepository.findViewSlice(isNull(), any(Pageable.class), anyBoolean()))
+                .thenReturn(new SliceImpl<>(List.of(view(1L, "Curry"), view(2L, "Salad")), pageable, true));
+        when(recipeRepository.estimateCount()).thenReturn(1000L);
+        when(recipeMapper.toResponse(ArgumentMatchers.<Page<RecipeView>>any())).thenReturn(new PaginatedRecipeResponse());
+
+        recipeService.searchRecipes(0, 2, null, null, null, null, null, "estimate", null);
+
+        verify(recipeMapper).toResponse(pageCaptor.capture());
+        verify(recipeRepository, never()).count();
+
+        assertEquals(1000L, pageCaptor.getValue().getTotalElements());
+        assertEquals(500, pageCaptor.getValue().getTotalPages());
+    }
+
+    @Test
+    void searchRecipes_shouldFallBackToExactCount_whenTableWasNeverAnalyzed() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("name"));
+
+        when(recipeRepository.findViewSlice(isNull(), any(Pageable.class), anyBoolean()))
+                .thenReturn(new SliceImpl<>(List.of(view(1L, "Curry")), pageable, true));
+        when(recipeRepository.estimateCount()).thenReturn(-1L);
+        when(recipeRepository.count()).thenReturn(7L);
+        when(recipeMapper.toResponse(ArgumentMatchers.<Page<RecipeView>>any())).thenReturn(new PaginatedRecipeResponse());
+
+        recipeService.searchRecipes(0, 1, null, null, null, null, null, "estimate", null);
+
+        verify(recipeMapper).toResponse(pageCaptor.capture());
+
+        assertEquals(7L, pageCaptor.getValue().getTotalElements());
+    }
+
+    @Test
+    void searchRecipes_shouldCountExactly_whenCountIsEstimateAndSearching() {
+        Page<RecipeView> recipePage = new PageImpl<>(List.of());
+
+        when(recipeRepository.findViews(ArgumentMatchers.<Specification<Recipe>>notNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
+        when(recipeMapper.toResponse(recipePage)).thenReturn(new PaginatedRecipeResponse());
+
+        recipeService.searchRecipes(0, 2, "test", null, null, null, null, "estimate", null);
+
+        verify(recipeRepository, never()).estimateCount();
+    }
+
     @Test
     void searchRecipes_shouldSortDescending_whenDirectionDesc() {
-        Page<Recipe> recipePage = new PageImpl<>(List.of());
+        Page<RecipeView> recipePage = new PageImpl<>(List.of());
 
-        when(recipeRepository.findAll(any(Pageable.class))).thenReturn(recipePage);
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
         when(recipeMapper.toResponse(recipePage)).thenReturn(new PaginatedRecipeResponse());
 
-        recipeService.searchRecipes(0, 2, null, "name", "desc");
+        recipeService.searchRecipes(0, 2, null, null, "name", "desc", null, null, null);
 
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(recipeRepository).findAll(captor.capture());
+        verify(recipeRepository).findViews(isNull(), captor.capture(), anyBoolean());
 
         Pageable usedPageable = captor.getValue();
 
@@ -178,15 +514,15 @@ class RecipeServiceTest {
 
     @Test
     void searchRecipes_shouldUseDefaultSortField_whenSortByNull() {
-        Page<Recipe> recipePage = new PageImpl<>(List.of());
+        Page<RecipeView> recipePage = new PageImpl<>(List.of());
 
-        when(recipeRepository.findAll(any(Pageable.class))).thenReturn(recipePage);
+        when(recipeRepository.findViews(isNull(), any(Pageable.class), anyBoolean())).thenReturn(recipePage);
         when(recipeMapper.toResponse(recipePage)).thenReturn(new PaginatedRecipeResponse());
 
-        recipeService.searchRecipes(0, 10, null, null, "asc");
+        recipeService.searchRecipes(0, 10, null, null, null, "asc", null, null, null);
 
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(recipeRepository).findAll(captor.capture());
+        verify(recipeRepository).findViews(isNull(), captor.capture(), anyBoolean());
 
         Pageable pageableUsed = captor.getValue();
         Sort.Order order = pageableUsed.getSort().getOrderFor("name");
@@ -197,6 +533,15 @@ class RecipeServiceTest {
         assertEquals(10, pageableUsed.getPageSize());
     }
 
+    @Test
+    void searchRecipes_shouldRejectUnindexedSortField() {
+        InvalidSortException exception = assertThrows(InvalidSortException.class,
+                () -> recipeService.searchRecipes(0, 10, null, null, "description", "asc", null, null, null));
+
+        assertTrue(exception.getMessage().contains("description"));
+        verifyNoInteractions(recipeRepository);
+    }
+
     @Test
     void updateRecipeById_shouldThrowException_whenRecipeDoesNotExist() {
         Long recipeId = 1L;
@@ -216,9 +561,9 @@ class RecipeServiceTest {
 
         Recipe recipe = new Recipe();
         recipe.setId(recipeId);
-        recipe.setIngredients(List.of(Ingredient.builder().id(1L).build()));
 
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
+        when(recipeRepository.findIngredientsByRecipeId(recipeId)).thenReturn(List.of(Ingredient.builder().id(1L).build()));
 
         assertThrows(IngredientNotInRecipeException.class,
                 () -> recipeService.updateRecipeById(recipeId, recipeUpdateRequest));
@@ -235,25 +580,184 @@ class RecipeServiceTest {
 
         Recipe recipe = new Recipe();
         recipe.setId(recipeId);
-        Ingredient existingIngredient = Ingredient.builder().id(10L).build();
-        existingIngredient.setRecipe(recipe);
-        recipe.setIngredients(new ArrayList<>(List.of(existingIngredient)));
+        recipe.setVersion(0L);
+        Ingredient existingIngredient = Ingredient.builder().id(10L).name("Egg").build();
+        Ingredient newIngredient = new Ingredient();
 
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
-        doNothing().when(recipeMapper).updateFromRequest(recipeUpdateRequest, recipe);
-        doNothing().when(ingredientMapper).updateFromRequest(existingIngredientRequest, existingIngredient);
-        when(ingredientMapper.toEntity(newIngredientUpdateRequest)).thenReturn(new Ingredient());
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
-        when(recipeMapper.toResponse(recipe)).thenReturn(new RecipeResponse().id(recipeId));
+        when(recipeRepository.findIngredientsByRecipeId(recipeId)).thenReturn(List.of(existingIngredient));
+        when(ingredientMapper.toEntity(existingIngredientRequest)).thenReturn(Ingredient.builder().name("Rice").build());
+        when(ingredientMapper.toEntity(newIngredientUpdateRequest)).thenReturn(newIngredient);
+        when(recipeMapper.toResponse(recipe, List.of(existingIngredient, newIngredient))).thenReturn(new RecipeResponse().id(recipeId));
 
         RecipeResponse recipeResponse = recipeService.updateRecipeById(recipeId, recipeUpdateRequest);
 
         assertEquals(recipeId, recipeResponse.getId());
-        assertEquals(2, recipe.getIngredients().size());
-        assertSame(recipe, recipe.getIngredients().get(0).getRecipe());
-        assertSame(recipe, recipe.getIngredients().get(1).getRecipe());
+        assertSame(recipe, newIngredient.getRecipe());
+
+        verify(recipeMapper).updateFromRequest(recipeUpdateRequest, recipe);
+        verify(ingredientMapper).updateFromRequest(existingIngredientRequest, existingIngredient);
+        verify(entityManager).persist(newIngredient);
+        verify(entityManager).lock(recipe, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        verify(recipeRepository, never()).deleteIngredientsByIdIn(any());
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(recipeId));
+    }
+
+    @Test
+    void updateRecipeById_shouldSkipUnchangedIngredients_andKeepVersion() {
+        Long recipeId = 1L;
+
+        IngredientUpdateRequest ingredientRequest = new IngredientUpdateRequest().id(10L);
+        RecipeUpdateRequest recipeUpdateRequest = new RecipeUpdateRequest().ingredients(List.of(ingredientRequest));
+
+        Recipe recipe = new Recipe();
+        recipe.setId(recipeId);
+        Ingredient ingredient = Ingredient.builder().id(10L).name("Egg").quantity(1.0).unit(Ingredient.Unit.PIECE).build();
+
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
+        when(recipeRepository.findIngredientsByRecipeId(recipeId)).thenReturn(List.of(ingredient));
+        when(ingredientMapper.toEntity(ingredientRequest))
+                .thenReturn(Ingredient.builder().name("Egg").quantity(1.0).unit(Ingredient.Unit.PIECE).build());
+
+        recipeService.updateRecipeById(recipeId, recipeUpdateRequest);
+
+        verify(ingredientMapper, never()).updateFromRequest(any(), any());
+        verify(entityManager, never()).persist(any());
+        verify(entityManager, never()).lock(any(), any());
+        verify(recipeRepository, never()).deleteIngredientsByIdIn(any());
+    }
+
+    @Test
+    void updateRecipeById_shouldDeleteRemovedIngredients_inOneStatement() {
+        Long recipeId = 1L;
+
+        RecipeUpdateRequest recipeUpdateRequest = new RecipeUpdateRequest().ingredients(List.of());
+
+        Recipe recipe = new Recipe();
+        recipe.setId(recipeId);
+        Ingredient first = Ingredient.builder().id(10L).build();
+        Ingredient second = Ingredient.builder().id(11L).build();
+
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
+        when(recipeRepository.findIngredientsByRecipeId(recipeId)).thenReturn(List.of(first, second));
+
+        recipeService.updateRecipeById(recipeId, recipeUpdateRequest);
+
+        ArgumentCaptor<Long[]> captor = ArgumentCaptor.forClass(Long[].class);
+        verify(recipeRepository).deleteIngredientsByIdIn(captor.capture());
+        assertEquals(Set.of(10L, 11L), Set.of(captor.getValue()));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        verify(entityManager).lock(recipe, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    void patchRecipeById_shouldUpdateColumnsInOneStatement_withoutLoadingRecipe() {
+        Long recipeId = 1L;
+        RecipePatchRequest patch = new RecipePatchRequest().name("Green curry");
+
+        when(recipeRepository.patchById(recipeId, "Green curry", null, null, false, null)).thenReturn(Optional.of(3L));
+
+        assertEquals(3L, recipeService.patchRecipeById(recipeId, patch));
+
+        verify(recipeRepository, never()).findById(any());
+        verify(recipeRepository, never()).findVersionById(any());
+        verify(recipeRepository, never()).findIngredientsByRecipeId(any());
+        verify(eventPublisher).publishEvent(new RecipeChangedEvent(recipeId));
+    }
+
+    @Test
+    void patchRecipeById_shouldClearPreparationTime_whenPatchedWithNull() {
+        Long recipeId = 1L;
+        RecipePatchRequest patch = new RecipePatchRequest().preparationTime(null);
+
+        when(recipeRepository.patchById(recipeId, null, null, null, true, null)).thenReturn(Optional.of(1L));
+
+        assertEquals(1L, recipeService.patchRecipeById(recipeId, patch));
+    }
+
+    @Test
+    void patchRecipeById_shouldThrowException_whenRecipeDoesNotExist() {
+        Long recipeId = 1L;
+        RecipePatchRequest patch = new RecipePatchRequest().difficulty(RecipePatchRequest.DifficultyEnum.HARD);
+
+        when(recipeRepository.patchById(recipeId, null, null, "HARD", false, null)).thenReturn(Optional.empty());
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.patchRecipeById(recipeId, patch));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchRecipeById_shouldRejectNullForRequiredMembers() {
+        RecipePatchRequest patch = new RecipePatchRequest().name(null).description(" ").difficulty(null).ingredients(null);
+
+        InvalidRecipePatchException exception = assertThrows(InvalidRecipePatchException.class,
+                () -> recipeService.patchRecipeById(1L, patch));
+
+        assertEquals(Set.of("name", "description", "difficulty", "ingredients"), exception.getErrors().keySet());
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void patchRecipeById_shouldReturnCurrentVersion_whenPatchIsEmpty() {
+        Long recipeId = 1L;
+
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.of(4L));
+
+        assertEquals(4L, recipeService.patchRecipeById(recipeId, new RecipePatchRequest()));
+
+        verify(recipeRepository, never()).patchById(any(), any(), any(), any(), anyBoolean(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchRecipeById_shouldDiffIngredients_andBumpVersion_whenTheyChange() {
+        Long recipeId = 1L;
+        IngredientUpdateRequest ingredientRequest = new IngredientUpdateRequest().name("Rice");
+        RecipePatchRequest patch = new RecipePatchRequest().ingredients(List.of(ingredientRequest));
+
+        Recipe reference = new Recipe();
+        reference.setId(recipeId);
+        Ingredient existing = Ingredient.builder().id(10L).build();
+        Ingredient newIngredient = new Ingredient();
+
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.of(0L));
+        when(entityManager.getReference(Recipe.class, recipeId)).thenReturn(reference);
+        when(recipeRepository.findIngredientsByRecipeId(recipeId)).thenReturn(List.of(existing));
+        when(ingredientMapper.toEntity(ingredientRequest)).thenReturn(newIngredient);
+        when(recipeRepository.patchById(recipeId, null, null, null, false, null)).thenReturn(Optional.of(1L));
+
+        assertEquals(1L, recipeService.patchRecipeById(recipeId, patch));
+
+        assertSame(reference, newIngredient.getRecipe());
+        verify(entityManager).persist(newIngredient);
+        verify(recipeRepository).deleteIngredientsByIdIn(new Long[]{10L});
+        verify(recipeRepository, never()).findById(any());
+    }
+
+    @Test
+    void patchRecipeById_shouldKeepVersion_whenIngredientsAreUnchanged() {
+        Long recipeId = 1L;
+        IngredientUpdateRequest ingredientRequest = new IngredientUpdateRequest().id(10L);
+        RecipePatchRequest patch = new RecipePatchRequest().ingredients(List.of(ingredientRequest));
+
+        Recipe reference = new Recipe();
+        reference.setId(recipeId);
+        Ingredient ingredient = Ingredient.builder().id(10L).name("Egg").quantity(1.0).unit(Ingredient.Unit.PIECE).build();
+
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.of(2L));
+        when(entityManager.getReference(Recipe.class, recipeId)).thenReturn(reference);
+        when(recipeRepository.findIngredientsByRecipeId(recipeId)).thenReturn(List.of(ingredient));
+        when(ingredientMapper.toEntity(ingredientRequest))
+                .thenReturn(Ingredient.builder().name("Egg").quantity(1.0).unit(Ingredient.Unit.PIECE).build());
+
+        assertEquals(2L, recipeService.patchRecipeById(recipeId, patch));
+
+        verify(recipeRepository, never()).patchById(any(), any(), any(), any(), anyBoolean(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
 
-        verify(recipeRepository).findById(recipeId);
-        verify(recipeRepository).save(recipe);
+    private static RecipeView view(Long id, String name) {
+        return new RecipeView(id, name, null, Recipe.Difficulty.EASY, 10, OffsetDateTime.now(), 0L, null);
     }
 }
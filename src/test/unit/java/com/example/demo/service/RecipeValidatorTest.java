@@ -0,0 +1,50 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Ingredient;
+import com.example.demo.entity.Recipe;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeValidatorTest {
+
+    private final RecipeValidator recipeValidator = new RecipeValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void validate_shouldReturnNoErrors_forValidRecipe() {
+        assertTrue(recipeValidator.validate(recipe("Curry", 2.0)).isEmpty());
+    }
+
+    @Test
+    void validate_shouldReportRecipeAndIngredientViolationsByPath() {
+        Map<String, String> errors = recipeValidator.validate(recipe(" ", -1.0));
+
+        assertEquals(Map.of(
+                "name", "Recipe name must not be empty",
+                "ingredients[0].quantity", "Quantity must be at least 1"
+        ), errors);
+    }
+
+    private static Recipe recipe(String name, double quantity) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .description("Chop onions, fry spices, add vegetables...")
+                .difficulty(Recipe.Difficulty.EASY)
+                .preparationTime(20)
+                .build();
+
+        recipe.setIngredients(List.of(Ingredient.builder()
+                .name("Egg")
+                .quantity(quantity)
+                .unit(Ingredient.Unit.PIECE)
+                .recipe(recipe)
+                .build()));
+
+        return recipe;
+    }
+}